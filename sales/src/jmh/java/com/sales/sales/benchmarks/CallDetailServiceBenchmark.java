@@ -0,0 +1,46 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.Services.CallDetailService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call summary over {@code rows} calls made by {@code rows / 10} employees, on the embedded
+ * database: the target totals scan the employees and the call figures read the daily rollup, which
+ * grows with days and dimensions rather than with calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CallDetailServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private EmbeddedDatabase database;
+    private CallDetailService callDetailService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int employeeCount = Math.max(1, rows / 10);
+        database = EmbeddedDatabase.start();
+        database.loadEmployees(SyntheticData.employees(employeeCount));
+        database.loadCalls(SyntheticData.calls(rows, employeeCount));
+        callDetailService = database.bean(CallDetailService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> callSummary() {
+        return callDetailService.getCallSummary(null, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Services.DashboardService;
+import com.sales.sales.Services.DashboardSnapshotService;
+import com.sales.sales.dto.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardService and the in-memory DashboardSnapshotService over {@code rows} employees.
+ *
+ * Both run against the embedded database, so the DashboardService numbers include the ranking,
+ * grouping and rollup queries as they grow with the employee table, and snapshot loading reads every row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DashboardBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private EmbeddedDatabase database;
+    private EmployeeRepository employeeRepository;
+    private DashboardService dashboardService;
+    private DashboardSnapshotService loadedSnapshot;
+    private Employee updatedEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = SyntheticData.employees(rows);
+        database = EmbeddedDatabase.start();
+        database.loadEmployees(employees);
+
+        employeeRepository = database.bean(EmployeeRepository.class);
+        dashboardService = database.bean(DashboardService.class);
+
+        loadedSnapshot = new DashboardSnapshotService(employeeRepository);
+        loadedSnapshot.getDashboardStats();
+        updatedEmployee = employees.get(rows / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<RecentSale> serviceRecentSales() {
+        return dashboardService.getRecentSales();
+    }
+
+    @Benchmark
+    public EmployeePerformanceSummary serviceEmployeePerformance() {
+        return dashboardService.getEmployeePerformance();
+    }
+
+    @Benchmark
+    public SalesOverview serviceSalesOverview() {
+        return dashboardService.getSalesOverview(null);
+    }
+
+    // Cold start: findAll plus the first publish
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public DashboardStats snapshotLoad() {
+        return new DashboardSnapshotService(employeeRepository).getDashboardStats();
+    }
+
+    @Benchmark
+    public DashboardStats snapshotRead() {
+        return loadedSnapshot.getDashboardStats();
+    }
+
+    // One employee write: delta on the totals and a re-ranked publish
+    @Benchmark
+    public List<TopPerformer> snapshotUpdate() {
+        loadedSnapshot.onEmployeeSaved(updatedEmployee);
+        return loadedSnapshot.getTopPerformers();
+    }
+}
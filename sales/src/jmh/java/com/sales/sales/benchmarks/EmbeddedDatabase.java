@@ -0,0 +1,115 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.SalesApplication;
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.LeadDetail;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Services.CallCodeService;
+import com.sales.sales.Services.CallRollupService;
+import com.sales.sales.Services.SalesService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * The application context on an in-memory H2 database in MySQL mode, loaded with synthetic rows,
+ * so service benchmarks run the real repository queries and their cost grows with the data the
+ * way it does in production (H2's planner, not MySQL's, so compare runs with each other only).
+ * Scheduling and the call ingest consumer are switched off, so no background job competes with
+ * the measured calls.
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    private static final int CHUNK = 10_000;
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedDatabase start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SalesApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+                        "--spring.jpa.show-sql=false",
+                        "--scheduling.enabled=false",
+                        "--calls.ingest.consumer-enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret",
+                        "--jwt.expiration=3600000");
+        return new EmbeddedDatabase(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    void loadEmployees(List<Employee> employees) {
+        EmployeeRepository repository = bean(EmployeeRepository.class);
+        TransactionTemplate transactionTemplate = bean(TransactionTemplate.class);
+        for (int from = 0; from < employees.size(); from += CHUNK) {
+            List<Employee> chunk = employees.subList(from, Math.min(from + CHUNK, employees.size()));
+            transactionTemplate.executeWithoutResult(status -> repository.saveAll(chunk));
+        }
+        bean(SalesService.class).seedCurrentMonth();
+    }
+
+    // Plain JDBC batches: IDENTITY keys rule out Hibernate insert batching
+    void loadCalls(List<CallDetail> calls) {
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        for (int from = 0; from < calls.size(); from += CHUNK) {
+            List<CallDetail> chunk = calls.subList(from, Math.min(from + CHUNK, calls.size()));
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO call_details (emp_id, call_date, call_type, disposition, duration, team, version)
+                    VALUES (?, ?, ?, ?, ?, ?, 0)
+                    """, chunk, chunk.size(), (ps, call) -> {
+                ps.setString(1, call.getEmpId());
+                ps.setDate(2, Date.valueOf(call.getCallDate()));
+                ps.setString(3, call.getCallType());
+                ps.setString(4, call.getDisposition());
+                ps.setInt(5, call.getDuration());
+                ps.setString(6, call.getTeam());
+            });
+        }
+        bean(CallCodeService.class).backfill();
+        bean(CallRollupService.class).backfill();
+    }
+
+    void loadLeads(List<LeadDetail> leads) {
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        for (int from = 0; from < leads.size(); from += CHUNK) {
+            List<LeadDetail> chunk = leads.subList(from, Math.min(from + CHUNK, leads.size()));
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO lead_details (emp_id, phone, source, converted_to_deal, deal_value, created_date, version)
+                    VALUES (?, ?, ?, ?, ?, ?, 0)
+                    """, chunk, chunk.size(), (ps, lead) -> {
+                ps.setString(1, lead.getEmpId());
+                ps.setString(2, lead.getPhone());
+                ps.setString(3, lead.getSource());
+                ps.setString(4, lead.getConvertedToDeal());
+                ps.setObject(5, lead.getDealValue());
+                ps.setDate(6, Date.valueOf(lead.getCreatedDate()));
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
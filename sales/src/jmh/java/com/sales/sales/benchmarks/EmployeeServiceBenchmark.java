@@ -0,0 +1,43 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.Services.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top and bottom performers over {@code rows} employees on the embedded database, ranked by the
+ * database from idx_employee_performance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private EmbeddedDatabase database;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = EmbeddedDatabase.start();
+        database.loadEmployees(SyntheticData.employees(rows));
+        employeeService = database.bean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> topAndBottomByPerformance() {
+        return employeeService.getTopAndBottomEmployeesByPerformance(EmployeeService.DEFAULT_TOP_BOTTOM);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.Services.LeadDetailService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LeadDetailServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private EmbeddedDatabase database;
+    private LeadDetailService leadDetailService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = EmbeddedDatabase.start();
+        database.loadLeads(SyntheticData.leads(rows, Math.max(1, rows / 10)));
+        leadDetailService = database.bean(LeadDetailService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> summary() {
+        return leadDetailService.getSummary();
+    }
+}
@@ -0,0 +1,69 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Services.NameSearchService;
+import com.sales.sales.dto.SearchHit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency per keystroke. Names are drawn from small first and last name pools so that
+ * short queries hit thousands of entries, the worst case for the posting list intersection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Maria", "James", "Aisha", "Wei", "Carlos", "Priya", "Olga", "Kwame",
+            "Sofia", "Liam", "Yuki", "Fatima", "Noah", "Elena", "Omar", "Grace", "Ivan", "Mei", "Lucas", "Amara"};
+    private static final String[] LAST_NAMES = {"Garcia", "Smith", "Khan", "Zhang", "Silva", "Patel", "Ivanova", "Mensah",
+            "Rossi", "Murphy", "Tanaka", "Haddad", "Brown", "Petrova", "Nasser", "Okafor", "Novak", "Chen", "Martin", "Diallo"};
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"m", "gar", "maria gar", "khan@", "E4711"})
+    public String query;
+
+    private EmbeddedDatabase database;
+    private NameSearchService nameSearch;
+
+    // The index is built from the database by the first search, as in the application
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        List<Employee> employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(Employee.builder()
+                    .empId("EMP" + i)
+                    .empName(first + " " + last)
+                    .empCode("E" + i)
+                    .email(first.toLowerCase() + "." + last.toLowerCase() + i + "@example.com")
+                    .build());
+        }
+        database = EmbeddedDatabase.start();
+        database.loadEmployees(employees);
+        nameSearch = database.bean(NameSearchService.class);
+        nameSearch.search("warm", NameSearchService.DEFAULT_LIMIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<SearchHit> search() {
+        return nameSearch.search(query, NameSearchService.DEFAULT_LIMIT);
+    }
+}
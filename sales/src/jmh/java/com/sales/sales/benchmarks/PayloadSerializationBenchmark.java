@@ -0,0 +1,78 @@
+package com.sales.sales.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.sales.dto.DashboardStats;
+import com.sales.sales.dto.TopPerformer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the typed dashboard payloads against the HashMap payloads they replaced. SampleTime
+ * gives the p99 per payload; run with -prof gc (the benchmarks profile default) for the allocation
+ * rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DashboardStats statsRecord;
+    private List<TopPerformer> performersRecords;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        statsRecord = new DashboardStats(1_250, 64, 31_250_000, 27_400_000, 210_000);
+        performersRecords = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            performersRecords.add(new TopPerformer("Employee " + i, "E" + i, 98.5 - i, 48_000 - i * 900, 40_000, 120 - i));
+        }
+    }
+
+    @Benchmark
+    public byte[] statsAsRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(statsRecord);
+    }
+
+    @Benchmark
+    public byte[] statsAsMap() throws JsonProcessingException {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("employeeCount", statsRecord.employeeCount());
+        stats.put("meetTarget", statsRecord.meetTarget());
+        stats.put("salesTarget", statsRecord.salesTarget());
+        stats.put("salesAchieved", statsRecord.salesAchieved());
+        stats.put("totalCalls", statsRecord.totalCalls());
+        return objectMapper.writeValueAsBytes(stats);
+    }
+
+    @Benchmark
+    public byte[] topPerformersAsRecords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(performersRecords);
+    }
+
+    @Benchmark
+    public byte[] topPerformersAsMaps() throws JsonProcessingException {
+        List<Map<String, Object>> performers = new ArrayList<>(performersRecords.size());
+        for (TopPerformer p : performersRecords) {
+            Map<String, Object> performer = new HashMap<>();
+            performer.put("employeeName", p.employeeName());
+            performer.put("employeeCode", p.employeeCode());
+            performer.put("performanceScore", p.performanceScore());
+            performer.put("achieved", p.achieved());
+            performer.put("target", p.target());
+            performer.put("achievementRate", p.achievementRate());
+            performers.add(performer);
+        }
+        return objectMapper.writeValueAsBytes(performers);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sales.sales.benchmarks;
+
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.LeadDetail;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic rows; a fixed seed keeps every run over the same data.
+ */
+final class SyntheticData {
+
+    static final String[] DEPARTMENTS = {"Sales", "Marketing", "Support", "Retail", "Enterprise", "Channel", "Inside", "Field"};
+    static final String[] TEAMS = {"Alpha", "Bravo", "Charlie", "Delta", "Echo"};
+    private static final String[] CALL_TYPES = {"Inbound", "Outbound", "Follow-up"};
+    private static final String[] DISPOSITIONS = {"Connected", "No Answer", "Busy", "Voicemail", "Callback"};
+    private static final String[] SOURCES = {"Website", "Referral", "Cold Call", "Campaign", "Walk-in"};
+
+    private static final long SEED = 42L;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private SyntheticData() {
+    }
+
+    static List<Employee> employees(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int monthlyTarget = random.nextInt(20) == 0 ? 0 : 5_000 + random.nextInt(45_000);
+            employees.add(Employee.builder()
+                    .empId("EMP" + i)
+                    .empName("Employee " + i)
+                    .empCode("E" + i)
+                    .email("employee" + i + "@example.com")
+                    .role("EMPLOYEE")
+                    .department(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)])
+                    .team(TEAMS[random.nextInt(TEAMS.length)])
+                    .monthlyTarget(monthlyTarget)
+                    .achieved(random.nextInt(60_000))
+                    .monthlyCallTarget(100 + random.nextInt(200))
+                    .callsMade(random.nextInt(400))
+                    .meetTarget(random.nextInt(monthlyTarget + 1))
+                    .joinDate(START.minusDays(random.nextInt(1_000)))
+                    .build());
+        }
+        return employees;
+    }
+
+    static List<CallDetail> calls(int count, int employees) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        List<CallDetail> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            calls.add(CallDetail.builder()
+                    .callId((long) i)
+                    .empId("EMP" + random.nextInt(employees))
+                    .callDate(START.plusDays(random.nextInt(365)))
+                    .callType(CALL_TYPES[random.nextInt(CALL_TYPES.length)])
+                    .disposition(DISPOSITIONS[random.nextInt(DISPOSITIONS.length)])
+                    .duration(random.nextInt(900))
+                    .team(TEAMS[random.nextInt(TEAMS.length)])
+                    .build());
+        }
+        return calls;
+    }
+
+    static List<LeadDetail> leads(int count, int employees) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        List<LeadDetail> leads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean converted = random.nextInt(3) == 0;
+            leads.add(LeadDetail.builder()
+                    .leadId((long) i)
+                    .empId("EMP" + random.nextInt(employees))
+                    .phone("+1555" + (1_000_000 + i))
+                    .source(SOURCES[random.nextInt(SOURCES.length)])
+                    .convertedToDeal(converted ? "Yes" : "No")
+                    .dealValue(converted ? 500f + random.nextInt(20_000) : null)
+                    .createdDate(START.plusDays(random.nextInt(365)))
+                    .build());
+        }
+        return leads;
+    }
+}
@@ -2,13 +2,20 @@ package com.sales.sales.Controller;
 
 import com.sales.sales.Entity.CallDetail;
 import com.sales.sales.Services.CallDetailService;
+import com.sales.sales.Services.CallIngestService;
+import com.sales.sales.Services.ExportService;
 import com.sales.sales.validation.CommonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,6 +28,8 @@ import java.util.Optional;
 public class CallDetailController {
 
     private final CallDetailService service;
+    private final ExportService exportService;
+    private final CallIngestService callIngest;
 
     // Get all calls
     @GetMapping
@@ -28,6 +37,14 @@ public class CallDetailController {
         return service.getAllCalls();
     }
 
+    // Export all calls as NDJSON (default) or CSV, streamed row by row
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCalls(@RequestParam(defaultValue = "ndjson") String format, WebRequest request) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return CommonUtil.createStreamingResponse(out -> exportService.exportCalls(exportFormat, out),
+                exportFormat.mediaType(), exportFormat.fileName("calls"), request, exportService.requestTimeout());
+    }
+
     // Get call by ID
     @GetMapping("/{id}")
     public Optional<CallDetail> getCallById(@PathVariable Long id) {
@@ -40,12 +57,42 @@ public class CallDetailController {
         return service.addCall(call);
     }
 
+    // Bulk ingest for the dialer: calls are queued and written in batches shortly after the 202.
+    // A 400 lists the calls that cannot be stored and a 429 means the queue is full; either way
+    // nothing was queued. Retry a 429 with the same request later.
+    @PostMapping("/batch")
+    public ResponseEntity<?> addCalls(@RequestBody List<CallDetail> calls) {
+        List<String> problems = callIngest.validate(calls);
+        if (!problems.isEmpty()) {
+            return CommonUtil.createErrorResponse(problems, HttpStatus.BAD_REQUEST);
+        }
+        if (!callIngest.submit(calls)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("status", HttpStatus.TOO_MANY_REQUESTS.name(),
+                            "message", "Call ingest queue is full, retry later"));
+        }
+        return CommonUtil.createBuildResponse(Map.of("accepted", calls.size()), HttpStatus.ACCEPTED);
+    }
+
+    // Queue depth, throughput and flush latency of the batch ingest
+    @GetMapping("/batch/metrics")
+    public ResponseEntity<?> getIngestMetrics() {
+        return CommonUtil.createBuildResponse(callIngest.metrics(), HttpStatus.OK);
+    }
+
     // Update existing call
     @PutMapping("/{id}")
     public CallDetail updateCall(@PathVariable Long id, @RequestBody CallDetail call) {
         return service.updateCall(id, call);
     }
 
+    // Partially update call: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public CallDetail patchCall(@PathVariable Long id, @RequestBody CallDetail call) {
+        return service.patchCall(id, call);
+    }
+
     // Delete call
     @DeleteMapping("/{id}")
     public void deleteCall(@PathVariable Long id) {
@@ -63,9 +110,11 @@ public class CallDetailController {
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<?> getCallSummary() {
+    public ResponseEntity<?> getCallSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         try {
-            Map<String, Object> summary = service.getCallSummary();
+            Map<String, Object> summary = service.getCallSummary(from, to);
             return CommonUtil.createBuildResponse(summary, HttpStatus.OK);
         } catch (Exception e) {
             log.error("Error getting call summary: {}", e.getMessage());
@@ -74,9 +123,11 @@ public class CallDetailController {
     }
 
     @GetMapping("/type-summary")
-    public ResponseEntity<?> getCallTypeSummary() {
+    public ResponseEntity<?> getCallTypeSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         try {
-            Map<String, Long> typeSummary = service.getCallTypeSummary();
+            Map<String, Long> typeSummary = service.getCallTypeSummary(from, to);
             return CommonUtil.createBuildResponse(typeSummary, HttpStatus.OK);
         } catch (Exception e) {
             log.error("Error getting call type summary: {}", e.getMessage());
@@ -85,9 +136,11 @@ public class CallDetailController {
     }
 
     @GetMapping("/disposition-summary")
-    public ResponseEntity<?> getDispositionSummary() {
+    public ResponseEntity<?> getDispositionSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         try {
-            Map<String, Long> dispositionSummary = service.getDispositionSummary();
+            Map<String, Long> dispositionSummary = service.getDispositionSummary(from, to);
             return CommonUtil.createBuildResponse(dispositionSummary, HttpStatus.OK);
         } catch (Exception e) {
             log.error("Error getting disposition summary: {}", e.getMessage());
@@ -2,17 +2,22 @@ package com.sales.sales.Controller;
 
 
 
+import com.sales.sales.Services.CompleteDashboardService;
 import com.sales.sales.Services.DashboardService;
+import com.sales.sales.Services.DashboardSnapshotService;
+import com.sales.sales.Services.DashboardStreamService;
+import com.sales.sales.config.DataVersionEtagInterceptor;
+import com.sales.sales.dto.*;
 import com.sales.sales.validation.CommonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,12 +28,15 @@ import java.util.stream.Collectors;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardSnapshotService dashboardSnapshot;
+    private final CompleteDashboardService completeDashboardService;
+    private final DashboardStreamService dashboardStreamService;
 
     @GetMapping("/stats")
     public ResponseEntity<?> getDashboardStats() {
         log.info("DashboardController : getDashboardStats() : Execution Start");
         try {
-            Map<String, Object> stats = dashboardService.getDashboardStats();
+            DashboardStats stats = dashboardSnapshot.getDashboardStats();
             log.info("Dashboard stats returned successfully");
             return CommonUtil.createBuildResponse(stats, HttpStatus.OK);
         } catch (Exception e) {
@@ -38,10 +46,10 @@ public class DashboardController {
     }
 
     @GetMapping("/sales-overview")
-    public ResponseEntity<?> getSalesOverview() {
+    public ResponseEntity<?> getSalesOverview(@RequestParam(required = false) String department) {
         log.info("DashboardController : getSalesOverview() : Execution Start");
         try {
-            Map<String, Object> salesOverview = dashboardService.getSalesOverview();
+            SalesOverview salesOverview = dashboardService.getSalesOverview(department);
             log.info("Sales overview data returned successfully");
             return CommonUtil.createBuildResponse(salesOverview, HttpStatus.OK);
         } catch (Exception e) {
@@ -54,7 +62,7 @@ public class DashboardController {
     public ResponseEntity<?> getRecentSales() {
         log.info("DashboardController : getRecentSales() : Execution Start");
         try {
-            List<Map<String, Object>> recentSales = dashboardService.getRecentSales();
+            List<RecentSale> recentSales = dashboardService.getRecentSales();
             log.info("Recent sales returned: {} records", recentSales.size());
             return CommonUtil.createBuildResponse(recentSales, HttpStatus.OK);
         } catch (Exception e) {
@@ -67,11 +75,11 @@ public class DashboardController {
     public ResponseEntity<?> getTopPerformers() {
         log.info("DashboardController : getTopPerformers() : Execution Start");
         try {
-            List<Map<String, Object>> topPerformers = dashboardService.getTopPerformers();
+            List<TopPerformer> topPerformers = dashboardSnapshot.getTopPerformers();
             log.info("Top performers returned: {} records", topPerformers.size());
 
             // Ensure we return exactly top 10
-            List<Map<String, Object>> top10Performers = topPerformers.stream()
+            List<TopPerformer> top10Performers = topPerformers.stream()
                     .limit(10)
                     .collect(Collectors.toList());
 
@@ -87,7 +95,7 @@ public class DashboardController {
     public ResponseEntity<?> getEmployeePerformance() {
         log.info("DashboardController : getEmployeePerformance() : Execution Start");
         try {
-            Map<String, Object> performance = dashboardService.getEmployeePerformance();
+            EmployeePerformanceSummary performance = dashboardService.getEmployeePerformance();
             log.info("Employee performance data returned successfully");
             return CommonUtil.createBuildResponse(performance, HttpStatus.OK);
         } catch (Exception e) {
@@ -100,7 +108,7 @@ public class DashboardController {
     public ResponseEntity<?> getDashboardCounts() {
         log.info("DashboardController : getDashboardCounts() : Execution Start");
         try {
-            Map<String, Object> counts = dashboardService.getDashboardCounts();
+            DashboardCounts counts = dashboardSnapshot.getDashboardCounts();
             log.info("Dashboard counts returned successfully");
             return CommonUtil.createBuildResponse(counts, HttpStatus.OK);
         } catch (Exception e) {
@@ -113,23 +121,11 @@ public class DashboardController {
     public ResponseEntity<?> getCompleteDashboardData() {
         log.info("DashboardController : getCompleteDashboardData() : Execution Start");
         try {
-            Map<String, Object> completeData = new HashMap<>();
-
-            // Get all dashboard data
-            Map<String, Object> stats = dashboardService.getDashboardStats();
-            Map<String, Object> counts = dashboardService.getDashboardCounts();
-            List<Map<String, Object>> topPerformers = dashboardService.getTopPerformers();
-            List<Map<String, Object>> recentSales = dashboardService.getRecentSales();
-            Map<String, Object> performance = dashboardService.getEmployeePerformance();
-            Map<String, Object> overview = dashboardService.getSalesOverview();
-
-            completeData.put("stats", stats);
-            completeData.put("counts", counts);
-            completeData.put("topPerformers", topPerformers);
-            completeData.put("recentSales", recentSales);
-            completeData.put("performance", performance);
-            completeData.put("overview", overview);
-
+            CompleteDashboard completeData = completeDashboardService.getCompleteDashboardData();
+            if (!completeData.degraded().isEmpty()) {
+                // Partial data must not be revalidated with 304 once the failed sections recover
+                DataVersionEtagInterceptor.withholdEtag();
+            }
             log.info("Complete dashboard data returned successfully");
             return CommonUtil.createBuildResponse(completeData, HttpStatus.OK);
         } catch (Exception e) {
@@ -138,4 +134,11 @@ public class DashboardController {
         }
     }
 
-}
\ No newline at end of file
+    // Initial state as a "snapshot" event, then "delta" events carrying only the changed fields
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        log.info("DashboardController : streamDashboard() : Execution Start");
+        return dashboardStreamService.subscribe();
+    }
+
+}
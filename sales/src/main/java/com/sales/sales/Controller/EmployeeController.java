@@ -2,13 +2,23 @@ package com.sales.sales.Controller;
 
 
 import com.sales.sales.Entity.Employee;
+import com.sales.sales.Services.EmployeeImportService;
 import com.sales.sales.Services.EmployeeService;
+import com.sales.sales.Services.ExportService;
 import com.sales.sales.Services.impl.EmployeeServiceImpl;
+import com.sales.sales.dto.CursorPage;
+import com.sales.sales.dto.EmployeeListRow;
+import com.sales.sales.dto.ImportReport;
+import com.sales.sales.dto.WeeklySummaryRow;
+import com.sales.sales.validation.CommonUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -21,13 +31,30 @@ public class EmployeeController {
     @Autowired
    private EmployeeService employeeService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
     public EmployeeController(EmployeeService service) {
         this.employeeService = service;
     }
 
+    // Keyset paged: pass nextCursor back as afterId until hasNext is false
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public CursorPage<EmployeeListRow> getAllEmployees(
+            @RequestParam(required = false) String afterId,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int size) {
+        return employeeService.getEmployeesPage(afterId, size);
+    }
+
+    // Full table for BI: ?format=ndjson (default) or csv, streamed row by row
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "ndjson") String format, WebRequest request) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return CommonUtil.createStreamingResponse(out -> exportService.exportEmployees(exportFormat, out),
+                exportFormat.mediaType(), exportFormat.fileName("employees"), request, exportService.requestTimeout());
     }
 
     @GetMapping("/{id}")
@@ -40,24 +67,44 @@ public class EmployeeController {
         return employeeService.addEmployee(emp);
     }
 
+    // Bulk import of a JSON array; the report has one result per input row
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportReport importEmployees(@RequestBody List<Employee> employees) {
+        return employeeImportService.importEmployees(employees);
+    }
+
+    // Bulk import of CSV with a header row, e.g. the output of /export?format=csv
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportReport importEmployeesCsv(@RequestBody String csv) {
+        return employeeImportService.importCsv(csv);
+    }
+
     @PutMapping("/{id}")
     public Employee updateEmployee(@PathVariable String id, @RequestBody Employee emp) {
         return employeeService.updateEmployee(id, emp);
     }
 
+    // Only the fields present in the body change; send the version you read to fail with 409 on a concurrent edit
+    @PatchMapping("/{id}")
+    public Employee patchEmployee(@PathVariable String id, @RequestBody Employee emp) {
+        return employeeService.patchEmployee(id, emp);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteEmployee(@PathVariable String id) {
         employeeService.deleteEmployee(id);
     }
 
     @GetMapping("/filter")
-    public List<Employee> filterEmployees(
+    public CursorPage<Employee> filterEmployees(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String team,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) Integer achieved) {
-        return employeeService.filterEmployees(name, team, startDate, endDate, achieved);
+            @RequestParam(required = false) Integer achieved,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_PAGE_SIZE) int size) {
+        return employeeService.filterEmployees(name, team, startDate, endDate, achieved, afterId, size);
     }
 
     @GetMapping("/sales-summary")
@@ -106,10 +153,12 @@ public class EmployeeController {
                     .body(Map.of("error", "Failed to fetch  sales calling overview: " + e.getMessage()));
         }
     }
+    // k employees from each end (default 5); the response keys keep their historical top5/bottom5 names
     @GetMapping("/performance/top-bottom")
-    public ResponseEntity<?> getTopBottomPerformance() {
+    public ResponseEntity<?> getTopBottomPerformance(
+            @RequestParam(defaultValue = "" + EmployeeService.DEFAULT_TOP_BOTTOM) int k) {
         try {
-            Map<String, Object> performance = employeeService.getTopAndBottomEmployeesByPerformance();
+            Map<String, Object> performance = employeeService.getTopAndBottomEmployeesByPerformance(k);
             return ResponseEntity.ok(performance);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -121,21 +170,7 @@ public class EmployeeController {
     @GetMapping("/weekly-summary")
     public ResponseEntity<?> getWeeklySummary() {
         try {
-            List<Employee> employees = employeeService.getAllEmployees();
-            List<Map<String, Object>> summary = new ArrayList<>();
-            
-            for (Employee emp : employees) {
-                Map<String, Object> empData = new LinkedHashMap<>();
-                empData.put("empId", emp.getEmpId());
-                empData.put("name", emp.getEmpName());
-                empData.put("team", emp.getTeam() != null ? emp.getTeam() : "N/A");
-                empData.put("monthlyTarget", emp.getMonthlyTarget() != null ? emp.getMonthlyTarget() : 0);
-                empData.put("achieved", emp.getAchieved() != null ? emp.getAchieved() : 0);
-                empData.put("monthlyCallTarget", emp.getMonthlyCallTarget() != null ? emp.getMonthlyCallTarget() : 0);
-                empData.put("callsMade", emp.getCallsMade() != null ? emp.getCallsMade() : 0);
-                summary.add(empData);
-            }
-            
+            List<WeeklySummaryRow> summary = employeeService.getWeeklySummary();
             return ResponseEntity.ok(Map.of("status", "success", "message", "Weekly summary fetched", "data", summary));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
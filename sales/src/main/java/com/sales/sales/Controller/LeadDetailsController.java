@@ -2,9 +2,15 @@ package com.sales.sales.Controller;
 
 import com.sales.sales.Entity.LeadDetail;
 import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Services.ExportService;
 import com.sales.sales.Services.LeadDetailService;
+import com.sales.sales.dto.LeadListRow;
+import com.sales.sales.validation.CommonUtil;
+import org.springframework.http.ResponseEntity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -22,15 +28,26 @@ public class LeadDetailsController {
     @Autowired
     private EmployeeRepository employeeRepo;
 
+    @Autowired
+    private ExportService exportService;
+
     public LeadDetailsController(LeadDetailService service) {
         this.service = service;
     }
 
     @GetMapping
-    public List<LeadDetail> getAllLeads() {
+    public List<LeadListRow> getAllLeads() {
         return service.getAllLeads();
     }
 
+    // Export all leads as NDJSON (default) or CSV, streamed row by row
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLeads(@RequestParam(defaultValue = "ndjson") String format, WebRequest request) {
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        return CommonUtil.createStreamingResponse(out -> exportService.exportLeads(exportFormat, out),
+                exportFormat.mediaType(), exportFormat.fileName("leads"), request, exportService.requestTimeout());
+    }
+
     @GetMapping("/{id}")
     public Optional<LeadDetail> getLeadById(@PathVariable Long id) {
         return service.getLeadById(id);
@@ -46,6 +63,12 @@ public class LeadDetailsController {
         return service.updateLead(id, lead);
     }
 
+    // Only the fields present in the body change
+    @PatchMapping("/{id}")
+    public LeadDetail patchLead(@PathVariable Long id, @RequestBody LeadDetail lead) {
+        return service.patchLead(id, lead);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteLead(@PathVariable Long id) {
         service.deleteLead(id);
@@ -3,6 +3,7 @@ package com.sales.sales.Controller;
 import com.sales.sales.Entity.Employee;
 import com.sales.sales.Entity.ProjectIntake;
 import com.sales.sales.Services.impl.ProjectIntakeServiceImpl;
+import com.sales.sales.dto.ProjectListRow;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -37,8 +38,8 @@ public class ProjectIntakeController {
     }
 
     @GetMapping("/all")
-    public List<ProjectIntake> getAllProjects() {
-        return service.findAll();
+    public List<ProjectListRow> getAllProjects() {
+        return service.findAllRows();
     }
 
     @GetMapping("/{id}")
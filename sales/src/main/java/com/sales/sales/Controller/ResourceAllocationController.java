@@ -4,6 +4,7 @@ import com.sales.sales.Entity.ResourceAllocation;
 import com.sales.sales.Services.ResourceAllocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -68,6 +69,12 @@ public class ResourceAllocationController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of allocation {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "Allocation was modified by another request",
+                "message", "Reload the allocation and retry with its current version"
+            ));
         } catch (Exception e) {
             log.error("Error updating allocation: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of(
@@ -77,6 +84,32 @@ public class ResourceAllocationController {
         }
     }
 
+    // Partially update allocation: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchAllocation(@PathVariable Long id, @RequestBody ResourceAllocation allocation) {
+        log.info("Patching allocation with ID: {}", id);
+        try {
+            ResourceAllocation updatedAllocation = service.patchAllocation(id, allocation);
+            if (updatedAllocation != null) {
+                return ResponseEntity.ok(updatedAllocation);
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflicting update of allocation {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", "Allocation was modified by another request",
+                "message", "Reload the allocation and retry with its current version"
+            ));
+        } catch (Exception e) {
+            log.error("Error patching allocation: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", "Failed to update allocation",
+                "message", e.getMessage()
+            ));
+        }
+    }
+
     // Delete allocation
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAllocation(@PathVariable Long id) {
@@ -0,0 +1,35 @@
+package com.sales.sales.Controller;
+
+import com.sales.sales.Services.NameSearchService;
+import com.sales.sales.dto.SearchHit;
+import com.sales.sales.validation.CommonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/search")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final NameSearchService nameSearch;
+
+    // Typeahead over employee names, codes and emails and user full names
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(defaultValue = "" + NameSearchService.DEFAULT_LIMIT) int limit) {
+        try {
+            List<SearchHit> hits = nameSearch.search(q, limit);
+            return CommonUtil.createBuildResponse(hits, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Error searching names: {}", e.getMessage());
+            return CommonUtil.createErrorResponse("Failed to search names", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
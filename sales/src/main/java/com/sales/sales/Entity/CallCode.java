@@ -0,0 +1,33 @@
+package com.sales.sales.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Dictionary of the normalized call types and dispositions. Each call stores the ids of its
+ * entries in call_type_code and disposition_code, so filters and counts can use the small
+ * indexed codes instead of LOWER(TRIM(...)) over the free-text columns. Names are lower-cased and
+ * trimmed, a missing value is the empty string, and entries are only ever added, by
+ * CallCodeService.
+ */
+@Entity
+@Table(name = "call_codes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_call_codes_kind_name", columnNames = {"kind", "name"}))
+@Data
+public class CallCode {
+
+    public enum Kind {
+        CALL_TYPE, DISPOSITION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 16)
+    private Kind kind;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+}
@@ -0,0 +1,54 @@
+package com.sales.sales.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Daily call rollup, one row per (date, employee, team, call type, disposition) with the number of
+ * calls and their total duration in seconds. Maintained by CallRollupService in the transaction
+ * that writes the calls. Call type and disposition are stored lower-cased and trimmed, and missing
+ * dimensions as empty strings, so that every call maps to exactly one row of the unique key.
+ *
+ * The unique key uses the call_codes ids of call type and disposition rather than the names:
+ * with four VARCHAR(255) columns it would need 4083 bytes in utf8mb4, over InnoDB's 3072-byte
+ * limit, and MySQL would refuse to create it. The names stay alongside for the reads.
+ */
+@Entity
+@Table(name = "call_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_call_daily_rollup_key",
+                columnNames = {"call_date", "emp_id", "team", "call_type_code", "disposition_code"}))
+@Data
+public class CallDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "call_date", nullable = false)
+    private LocalDate callDate;
+
+    @Column(name = "emp_id", nullable = false)
+    private String empId;
+
+    @Column(name = "team", nullable = false)
+    private String team;
+
+    @Column(name = "call_type", nullable = false)
+    private String callType;
+
+    @Column(name = "disposition", nullable = false)
+    private String disposition;
+
+    @Column(name = "call_type_code", nullable = false)
+    private Integer callTypeCode;
+
+    @Column(name = "disposition_code", nullable = false)
+    private Integer dispositionCode;
+
+    @Column(name = "call_count", nullable = false)
+    private long callCount;
+
+    @Column(name = "total_duration", nullable = false)
+    private long totalDuration;
+}
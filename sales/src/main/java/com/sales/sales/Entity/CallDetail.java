@@ -1,17 +1,25 @@
 package com.sales.sales.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "call_details")
+@Table(name = "call_details",
+        indexes = {
+                @Index(name = "idx_call_details_team_date", columnList = "team, call_date"),
+                @Index(name = "idx_call_details_disposition_code", columnList = "disposition_code, call_date"),
+                @Index(name = "idx_call_details_call_type_code", columnList = "call_type_code, call_date")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class CallDetail {
 
     @Id
@@ -22,6 +30,30 @@ public class CallDetail {
     private LocalDate callDate;
     private String callType;
     private String disposition;
-    private int duration;
+    // Boxed so that a PATCH without a duration leaves it unchanged
+    @Column(nullable = false)
+    private Integer duration;
     private String team;
+
+    // call_codes ids of the normalized callType and disposition, set by CallCodeService
+    @JsonIgnore
+    @Column(name = "call_type_code")
+    private Integer callTypeCode;
+    @JsonIgnore
+    @Column(name = "disposition_code")
+    private Integer dispositionCode;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        if (callDate == null) {
+            callDate = LocalDate.now();
+        }
+        if (duration == null) {
+            duration = 0;
+        }
+    }
 }
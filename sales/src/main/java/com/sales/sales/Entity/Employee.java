@@ -1,7 +1,9 @@
 package com.sales.sales.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -9,9 +11,15 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_employee_dept_team_join", columnList = "department, team, join_date"),
+        @Index(name = "idx_employee_achieved", columnList = "achieved"),
+        @Index(name = "idx_employee_performance", columnList = "performance_percentage")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class Employee {
     @Id
     @Column(name = "emp_id")
@@ -33,8 +41,35 @@ public class Employee {
     private String email;
     private String password;
 
-    @OneToOne
+    // meetTarget as a percentage of monthlyTarget, kept in sync on every write so rankings are an index scan
+    @Column(name = "performance_percentage")
+    private Double performancePercentage;
+
+    // Optimistic lock for PUT and PATCH; the counter increments in EmployeeCounterService leave it alone,
+    // which is safe because PUT and PATCH never write callsMade or achieved
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Lazy and kept out of JSON: employee listings must not pull a user (and its role) per row
+    @JsonIgnore
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
+
+    @PrePersist
+    @PreUpdate
+    public void updatePerformancePercentage() {
+        performancePercentage = performancePercentage(monthlyTarget, meetTarget);
+    }
+
+    // Rounded to two decimals; must match EmployeeRepository#backfillPerformancePercentage
+    public static double performancePercentage(Integer monthlyTarget, Integer meetTarget) {
+        if (monthlyTarget == null || monthlyTarget <= 0) {
+            return 0.0;
+        }
+        double percentage = (meetTarget == null ? 0 : meetTarget) * 100.0 / monthlyTarget;
+        return Math.round(percentage * 100.0) / 100.0;
+    }
 }
 
@@ -1,6 +1,7 @@
 package com.sales.sales.Entity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -11,6 +12,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class LeadDetail {
 
     @Id
@@ -23,5 +25,9 @@ public class LeadDetail {
     private String convertedToDeal;
     private Float dealValue;
     private LocalDate createdDate = LocalDate.now();
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
 
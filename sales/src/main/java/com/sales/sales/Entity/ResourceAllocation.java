@@ -2,6 +2,7 @@ package com.sales.sales.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 
 @Entity
@@ -11,6 +12,7 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
 public class ResourceAllocation {
 
     @Id
@@ -36,6 +38,10 @@ public class ResourceAllocation {
     @Column(name = "created_at")
     private LocalDate createdAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
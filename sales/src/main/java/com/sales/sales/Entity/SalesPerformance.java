@@ -5,20 +5,34 @@ import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
+/**
+ * Monthly sales rollup, one row per employee per month (month_year is "yyyy-MM").
+ */
 @Entity
-@Table(name = "sales_performance")
+@Table(name = "sales_performance",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sales_performance_emp_month", columnNames = {"emp_id", "month_year"}),
+        indexes = @Index(name = "idx_sales_performance_month_dept_team", columnList = "month_year, department, team"))
 @Data
 public class SalesPerformance {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "emp_id")
+    private String empId;
+
     @Column(name = "employee_name")
     private String employeeName;
 
     @Column(name = "month_year")
     private String monthYear;
 
+    @Column(name = "department")
+    private String department;
+
+    @Column(name = "team")
+    private String team;
+
     @Column(name = "sales_target")
     private Double salesTarget;
 
@@ -28,10 +42,12 @@ public class SalesPerformance {
     @Column(name = "target_achievement")
     private Double targetAchievement;
 
+    @Column(name = "calls_made")
+    private Integer callsMade;
+
     @Column(name = "region")
     private String region;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 }
-
@@ -1,10 +1,13 @@
 package com.sales.sales.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = User.WITH_ROLE, attributeNodes = @NamedAttributeNode("role"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,6 +15,9 @@ import lombok.*;
 @Builder
 public class User {
 
+    /** Fetch plan for the lookups that read the role (login, JWT filter, user responses). */
+    public static final String WITH_ROLE = "User.withRole";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer userId;
@@ -22,7 +28,7 @@ public class User {
     private Integer callTarget;
     private Integer monthlyTarget;
     private String teamAllocation;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 }
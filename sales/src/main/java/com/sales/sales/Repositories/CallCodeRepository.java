@@ -0,0 +1,13 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.CallCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CallCodeRepository extends JpaRepository<CallCode, Integer> {
+
+    Optional<CallCode> findByKindAndName(CallCode.Kind kind, String name);
+}
@@ -0,0 +1,68 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.CallDailyRollup;
+import com.sales.sales.dto.CallTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Reads scan rollup rows in [from, to] on the unique key's leading call_date column
+@Repository
+public interface CallDailyRollupRepository extends JpaRepository<CallDailyRollup, Long> {
+
+    // Whether there is any rollup row at all; reads one row where count() scans the table
+    boolean existsByIdIsNotNull();
+
+    @Query("""
+        SELECT COALESCE(SUM(r.callCount), 0) AS callCount, COALESCE(SUM(r.totalDuration), 0) AS totalDuration
+        FROM CallDailyRollup r
+        WHERE r.callDate BETWEEN :from AND :to
+    """)
+    CallTotalsView getTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+        SELECT r.callType, SUM(r.callCount)
+        FROM CallDailyRollup r
+        WHERE r.callDate BETWEEN :from AND :to
+        GROUP BY r.callType
+        HAVING SUM(r.callCount) > 0
+        ORDER BY r.callType
+    """)
+    List<Object[]> countByCallType(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+        SELECT r.disposition, SUM(r.callCount)
+        FROM CallDailyRollup r
+        WHERE r.callDate BETWEEN :from AND :to
+        GROUP BY r.disposition
+        HAVING SUM(r.callCount) > 0
+        ORDER BY r.disposition
+    """)
+    List<Object[]> countByDisposition(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Builds the rollup from call_details in one set-based statement; only run against an empty rollup,
+    // after CallCodeService#backfill has added the codes of every name in call_details
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO call_daily_rollup (call_date, emp_id, team, call_type, disposition, call_type_code, disposition_code,
+                                       call_count, total_duration)
+        SELECT r.call_date, r.emp_id, r.team, r.call_type, r.disposition, t.id, d.id, r.call_count, r.total_duration
+        FROM (SELECT COALESCE(c.call_date, CURRENT_DATE) AS call_date, COALESCE(c.emp_id, '') AS emp_id,
+                     COALESCE(c.team, '') AS team, LOWER(TRIM(COALESCE(c.call_type, ''))) AS call_type,
+                     LOWER(TRIM(COALESCE(c.disposition, ''))) AS disposition,
+                     COUNT(*) AS call_count, COALESCE(SUM(c.duration), 0) AS total_duration
+              FROM call_details c
+              GROUP BY COALESCE(c.call_date, CURRENT_DATE), COALESCE(c.emp_id, ''), COALESCE(c.team, ''),
+                       LOWER(TRIM(COALESCE(c.call_type, ''))), LOWER(TRIM(COALESCE(c.disposition, '')))) r
+        JOIN call_codes t ON t.kind = 'CALL_TYPE' AND t.name = r.call_type
+        JOIN call_codes d ON d.kind = 'DISPOSITION' AND d.name = r.disposition
+    """, nativeQuery = true)
+    int backfillFromCallDetails();
+}
@@ -1,38 +1,40 @@
 package com.sales.sales.Repositories;
 
 import com.sales.sales.Entity.CallDetail;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
-import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+// Ad-hoc filters are built with CallDetailSpecifications
 @Repository
-public interface CallDetailRepository extends JpaRepository<CallDetail, Long> {
+public interface CallDetailRepository extends JpaRepository<CallDetail, Long>, JpaSpecificationExecutor<CallDetail> {
+
+    // Streaming export cursor, same hints as EmployeeRepository#streamExportRows
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CallDetail c")
+    Stream<CallDetail> streamAll();
+
+    // Whether there is any call at all; reads one row where count() scans the table
+    boolean existsByCallIdIsNotNull();
 
     @Query(value = "SELECT emp_id, COUNT(*) as call_count FROM call_details GROUP BY emp_id ORDER BY call_count DESC LIMIT 10", nativeQuery = true)
     List<Object[]> findTop10ByCallsMade();
 
-    @Query("SELECT c FROM CallDetail c WHERE LOWER(TRIM(c.disposition)) LIKE '%connected%'")
-    List<CallDetail> findConnectedCalls();
-
+    // Matches the dispositions in the small call_codes dictionary, then counts on idx_call_details_disposition_code
     @Query("""
-        SELECT c FROM CallDetail c
-        WHERE (:team IS NULL OR LOWER(c.team) LIKE LOWER(CONCAT('%', :team, '%')))
-        AND (:startDate IS NULL OR c.callDate >= :startDate)
-        AND (:endDate IS NULL OR c.callDate <= :endDate)
+        SELECT COUNT(c) FROM CallDetail c
+        WHERE c.dispositionCode IN (
+            SELECT k.id FROM CallCode k
+            WHERE k.kind = com.sales.sales.Entity.CallCode.Kind.DISPOSITION AND k.name LIKE '%connected%')
     """)
-    List<CallDetail> filterCalls(
-            @Param("name") String name,
-            @Param("team") String team,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
-
-    @Query("SELECT LOWER(TRIM(c.callType)), COUNT(c) FROM CallDetail c GROUP BY LOWER(TRIM(c.callType))")
-    List<Object[]> countByCallType();
-
-    @Query("SELECT LOWER(TRIM(c.disposition)), COUNT(c) FROM CallDetail c GROUP BY LOWER(TRIM(c.disposition))")
-    List<Object[]> countByDisposition();
+    long countConnectedCalls();
 
 }
@@ -0,0 +1,46 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.CallDetail;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter predicates for {@link CallDetailRepository}; only supplied filters are emitted, so a
+ * team and date range query is an equality plus range lookup on idx_call_details_team_date.
+ * Dates are compared on the bare call_date column, which also lets MySQL prune the monthly
+ * partitions to the ones in range.
+ */
+public final class CallDetailSpecifications {
+
+    private CallDetailSpecifications() {
+    }
+
+    public static Specification<CallDetail> filter(String team, LocalDate startDate, LocalDate endDate) {
+        List<Specification<CallDetail>> specs = new ArrayList<>();
+        if (team != null && !team.isBlank()) {
+            specs.add(teamIs(team.trim()));
+        }
+        if (startDate != null) {
+            specs.add(calledOnOrAfter(startDate));
+        }
+        if (endDate != null) {
+            specs.add(calledOnOrBefore(endDate));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<CallDetail> teamIs(String team) {
+        return (root, query, cb) -> cb.equal(root.get("team"), team);
+    }
+
+    public static Specification<CallDetail> calledOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("callDate"), from);
+    }
+
+    public static Specification<CallDetail> calledOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("callDate"), to);
+    }
+}
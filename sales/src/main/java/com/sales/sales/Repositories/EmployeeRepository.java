@@ -2,29 +2,88 @@ package com.sales.sales.Repositories;
 
 
 import com.sales.sales.Entity.Employee;
+import com.sales.sales.dto.AchievementRateView;
+import com.sales.sales.dto.EmployeeExportRow;
+import com.sales.sales.dto.EmployeeKeyView;
+import com.sales.sales.dto.EmployeeListRow;
+import com.sales.sales.dto.EmployeeTargetTotalsView;
+import com.sales.sales.dto.GroupPerformanceView;
+import com.sales.sales.dto.PerformancePercentageView;
+import com.sales.sales.dto.SearchHit;
+import com.sales.sales.dto.WeeklySummaryRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// Ad-hoc filters are built with EmployeeSpecifications
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+public interface EmployeeRepository extends JpaRepository<Employee, String>, JpaSpecificationExecutor<Employee> {
+
+    // Forward-only cursor for exports. A fetch size of Integer.MIN_VALUE makes Connector/J stream
+    // this one result row by row instead of buffering all of it; the connection can run nothing
+    // else until the stream is closed, so close it when done.
+    // A constructor projection, so no managed entities pile up in the persistence context mid-stream.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT new com.sales.sales.dto.EmployeeExportRow(e.empId, e.empName, e.empCode, e.email, e.role,
+               e.department, e.team, e.monthlyTarget, e.achieved, e.monthlyCallTarget, e.callsMade,
+               e.meetTarget, e.joinDate)
+        FROM Employee e
+    """)
+    Stream<EmployeeExportRow> streamExportRows();
     // In your EmployeeRepository
 //    @Query("SELECT e FROM Employee e ORDER BY e.achieved DESC, e.performanceScore DESC LIMIT 10")
 //    List<Employee> findTop10PerformersByAchievement();
 
     Optional<Employee> findByEmail(String email);
 
+    // Source rows for the name search index
+    @Query("SELECT new com.sales.sales.dto.SearchHit('EMPLOYEE', e.empId, e.empName, e.empCode, e.email) FROM Employee e")
+    List<SearchHit> findSearchHits();
+
+    // Bulk import duplicate check: every existing id or email of a chunk in one query
+    @Query("SELECT e.empId AS empId, e.email AS email FROM Employee e WHERE e.empId IN :empIds OR e.email IN :emails")
+    List<EmployeeKeyView> findKeysByEmpIdInOrEmailIn(@Param("empIds") Collection<String> empIds,
+                                                     @Param("emails") Collection<String> emails);
+
     List<Employee> findByDepartment(String department);
 
     List<Employee> findByTeam(String team);
 
     List<Employee> findByRole(String role);
 
+    // Keyset paging on the primary key; Slice reads one extra row instead of running a COUNT.
+    // DTO projections: only the listed columns are selected and nothing enters the persistence context
+    Slice<EmployeeListRow> findBy(Pageable pageable);
+
+    Slice<EmployeeListRow> findByEmpIdGreaterThan(String afterId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.sales.sales.dto.WeeklySummaryRow(e.empId, e.empName, COALESCE(e.team, 'N/A'),
+               COALESCE(e.monthlyTarget, 0), COALESCE(e.achieved, 0), COALESCE(e.monthlyCallTarget, 0),
+               COALESCE(e.callsMade, 0))
+        FROM Employee e
+    """)
+    List<WeeklySummaryRow> findWeeklySummaryRows();
+
     @Query("SELECT COUNT(e) FROM Employee e")
     Long countTotalEmployees();
 
@@ -52,47 +111,95 @@ public interface EmployeeRepository extends JpaRepository<Employee, String> {
     @Query("SELECT e FROM Employee e ORDER BY e.callsMade DESC LIMIT 10")
     List<Employee> findTopPerformersByCalls();
 
+    // Target totals for the sales and call summaries in one table scan
+    @Query("""
+        SELECT COALESCE(SUM(e.monthlyTarget), 0) AS totalMonthlyTarget,
+               COALESCE(SUM(e.achieved), 0) AS totalAchieved,
+               COALESCE(SUM(e.monthlyCallTarget), 0) AS totalCallTarget,
+               COALESCE(SUM(e.meetTarget), 0) AS totalMeetTarget
+        FROM Employee e
+    """)
+    EmployeeTargetTotalsView getTargetTotals();
+
+    // Recent sales ranking: the rate is computed and ordered by the database, the Pageable caps the rows
+    // returned, and empId breaks ties so equal rates come back in a stable order
+    @Query("""
+        SELECT e.empName AS empName, e.empCode AS empCode,
+               COALESCE(e.monthlyTarget, 0) AS monthlyTarget, COALESCE(e.achieved, 0) AS achieved,
+               CASE WHEN e.monthlyTarget > 0 THEN COALESCE(e.achieved, 0) * 100.0 / e.monthlyTarget ELSE 0.0 END AS achievementRate
+        FROM Employee e
+        ORDER BY achievementRate DESC, e.empId
+    """)
+    List<AchievementRateView> findTopByAchievementRate(Pageable pageable);
+
+    // Top/bottom k by the persisted percentage: both walk idx_employee_performance (plus the primary key
+    // InnoDB appends to it) from one end and stop after k rows, with empId breaking ties
+    @Query("""
+        SELECT e.empId AS empId, e.empName AS empName, e.department AS department, e.monthlyTarget AS monthlyTarget,
+               e.meetTarget AS meetTarget, e.performancePercentage AS performancePercentage
+        FROM Employee e
+        ORDER BY e.performancePercentage DESC, e.empId DESC
+    """)
+    List<PerformancePercentageView> findTopByPerformancePercentage(Pageable pageable);
+
+    @Query("""
+        SELECT e.empId AS empId, e.empName AS empName, e.department AS department, e.monthlyTarget AS monthlyTarget,
+               e.meetTarget AS meetTarget, e.performancePercentage AS performancePercentage
+        FROM Employee e
+        ORDER BY e.performancePercentage ASC, e.empId ASC
+    """)
+    List<PerformancePercentageView> findBottomByPerformancePercentage(Pageable pageable);
+
+    // Fills the percentage for rows written before the column existed (or outside JPA)
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Employee e
+        SET e.performancePercentage = CASE WHEN e.monthlyTarget > 0
+                THEN ROUND(COALESCE(e.meetTarget, 0) * 100.0 / e.monthlyTarget, 2) ELSE 0.0 END
+        WHERE e.performancePercentage IS NULL
+    """)
+    int backfillPerformancePercentage();
+
+    // Relative counter bump, applied by EmployeeCounterService; never reads the row back into the JVM
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE Employee e
+        SET e.callsMade = COALESCE(e.callsMade, 0) + :calls,
+            e.achieved = COALESCE(e.achieved, 0) + :achieved
+        WHERE e.empId = :empId
+    """)
+    int incrementCounters(@Param("empId") String empId, @Param("calls") int calls, @Param("achieved") int achieved);
+
     @Query("SELECT e FROM Employee e WHERE e.department = :department ORDER BY e.achieved DESC")
     List<Employee> findTopPerformersByDepartment(@Param("department") String department);
 
-    @Query("SELECT e.department, COUNT(e), SUM(e.achieved), SUM(e.monthlyTarget) FROM Employee e GROUP BY e.department")
-    List<Object[]> getDepartmentWisePerformance();
-
-    // Filter employees method
-    @Query("SELECT e FROM Employee e WHERE " +
-            "(:department IS NULL OR e.department = :department) AND " +
-            "(:team IS NULL OR e.team = :team) AND " +
-            "(:joinDateFrom IS NULL OR e.joinDate >= :joinDateFrom) AND " +
-            "(:joinDateTo IS NULL OR e.joinDate <= :joinDateTo) AND " +
-            "(:minAchieved IS NULL OR e.achieved >= :minAchieved)")
-    List<Employee> filterEmployees(
-            @Param("department") String department,
-            @Param("team") String team,
-            @Param("joinDateFrom") LocalDate joinDateFrom,
-            @Param("joinDateTo") LocalDate joinDateTo,
-            @Param("minAchieved") Integer minAchieved
-    );
-
-    // Alternative filter method with more parameters
-    @Query("SELECT e FROM Employee e WHERE " +
-            "(:empName IS NULL OR e.empName LIKE %:empName%) AND " +
-            "(:department IS NULL OR e.department = :department) AND " +
-            "(:team IS NULL OR e.team = :team) AND " +
-            "(:role IS NULL OR e.role = :role) AND " +
-            "(:joinDateFrom IS NULL OR e.joinDate >= :joinDateFrom) AND " +
-            "(:joinDateTo IS NULL OR e.joinDate <= :joinDateTo) AND " +
-            "(:minAchieved IS NULL OR e.achieved >= :minAchieved) AND " +
-            "(:minCallsMade IS NULL OR e.callsMade >= :minCallsMade)")
-    List<Employee> findEmployeesByFilters(
-            @Param("empName") String empName,
-            @Param("department") String department,
-            @Param("team") String team,
-            @Param("role") String role,
-            @Param("joinDateFrom") LocalDate joinDateFrom,
-            @Param("joinDateTo") LocalDate joinDateTo,
-            @Param("minAchieved") Integer minAchieved,
-            @Param("minCallsMade") Integer minCallsMade
-    );
+    // Performance analytics, one row per group. averageAchievement is the mean of the individual
+    // achievement rates over employees with a positive target (AVG skips the NULLs of the others).
+    @Query("""
+        SELECT COALESCE(e.department, 'Unknown') AS department, CAST(NULL AS String) AS team,
+               COUNT(e) AS employeeCount,
+               COALESCE(SUM(e.monthlyTarget), 0) AS totalTarget,
+               COALESCE(SUM(e.achieved), 0) AS totalAchieved,
+               COUNT(CASE WHEN e.monthlyTarget > 0 THEN 1 END) AS ratedEmployees,
+               AVG(CASE WHEN e.monthlyTarget > 0 THEN COALESCE(e.achieved, 0) * 100.0 / e.monthlyTarget END) AS averageAchievement
+        FROM Employee e
+        GROUP BY COALESCE(e.department, 'Unknown')
+    """)
+    List<GroupPerformanceView> getDepartmentWisePerformance();
+
+    @Query("""
+        SELECT COALESCE(e.department, 'Unknown') AS department, COALESCE(e.team, 'Unknown') AS team,
+               COUNT(e) AS employeeCount,
+               COALESCE(SUM(e.monthlyTarget), 0) AS totalTarget,
+               COALESCE(SUM(e.achieved), 0) AS totalAchieved,
+               COUNT(CASE WHEN e.monthlyTarget > 0 THEN 1 END) AS ratedEmployees,
+               AVG(CASE WHEN e.monthlyTarget > 0 THEN COALESCE(e.achieved, 0) * 100.0 / e.monthlyTarget END) AS averageAchievement
+        FROM Employee e
+        GROUP BY COALESCE(e.department, 'Unknown'), COALESCE(e.team, 'Unknown')
+    """)
+    List<GroupPerformanceView> getTeamWisePerformance();
 
     // Find employees by achievement range
     @Query("SELECT e FROM Employee e WHERE e.achieved BETWEEN :minAchieved AND :maxAchieved")
@@ -0,0 +1,72 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter predicates for {@link EmployeeRepository}. Only the filters a caller supplies end up in
+ * the WHERE clause, so the optimizer sees plain sargable conditions it can match against
+ * idx_employee_dept_team_join and idx_employee_achieved.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    // Employee filter endpoint; afterId continues a keyset page ordered by empId
+    public static Specification<Employee> filter(String department, String team, LocalDate joinDateFrom,
+                                                 LocalDate joinDateTo, Integer minAchieved, String afterId) {
+        List<Specification<Employee>> specs = new ArrayList<>();
+        if (hasText(department)) {
+            specs.add(departmentIs(department));
+        }
+        if (hasText(team)) {
+            specs.add(teamIs(team));
+        }
+        if (joinDateFrom != null) {
+            specs.add(joinedOnOrAfter(joinDateFrom));
+        }
+        if (joinDateTo != null) {
+            specs.add(joinedOnOrBefore(joinDateTo));
+        }
+        if (minAchieved != null) {
+            specs.add(achievedAtLeast(minAchieved));
+        }
+        if (hasText(afterId)) {
+            specs.add(empIdAfter(afterId));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Employee> departmentIs(String department) {
+        return (root, query, cb) -> cb.equal(root.get("department"), department);
+    }
+
+    public static Specification<Employee> teamIs(String team) {
+        return (root, query, cb) -> cb.equal(root.get("team"), team);
+    }
+
+    public static Specification<Employee> joinedOnOrAfter(LocalDate from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("joinDate"), from);
+    }
+
+    public static Specification<Employee> joinedOnOrBefore(LocalDate to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("joinDate"), to);
+    }
+
+    public static Specification<Employee> achievedAtLeast(Integer minAchieved) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("achieved"), minAchieved);
+    }
+
+    public static Specification<Employee> empIdAfter(String afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("empId"), afterId);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -2,16 +2,37 @@ package com.sales.sales.Repositories;
 
 import com.sales.sales.Entity.Employee;
 import com.sales.sales.Entity.LeadDetail;
+import com.sales.sales.dto.LeadListRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LeadDetailRepository extends JpaRepository<LeadDetail, Long> {
+
+    // Streaming export cursor, same hints as EmployeeRepository#streamExportRows
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM LeadDetail l")
+    Stream<LeadDetail> streamAll();
+
+    @Query("""
+        SELECT new com.sales.sales.dto.LeadListRow(l.leadId, l.empId, l.phone, l.source, l.convertedToDeal,
+               l.dealValue, l.createdDate, l.version)
+        FROM LeadDetail l
+    """)
+    List<LeadListRow> findListRows();
+
     List<LeadDetail> findByEmpId(String empId);
 
     List<LeadDetail> findByCreatedDateBetween(LocalDate startDate, LocalDate endDate);
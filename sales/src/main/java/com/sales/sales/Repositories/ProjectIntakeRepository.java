@@ -1,6 +1,7 @@
 package com.sales.sales.Repositories;
 
 import com.sales.sales.Entity.ProjectIntake;
+import com.sales.sales.dto.ProjectListRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,6 +11,14 @@ import java.util.List;
 @Repository
 public interface ProjectIntakeRepository extends JpaRepository<ProjectIntake, Long> {
 
+    // p.employee.empId is the foreign key column, so this neither joins nor loads the employee
+    @Query("""
+        SELECT new com.sales.sales.dto.ProjectListRow(p.id, p.employeeName, p.employee.empId, p.projectName,
+               p.projectId, p.projectType, p.projectStatus, p.companyName, p.leadId, p.intakeDate)
+        FROM ProjectIntake p
+    """)
+    List<ProjectListRow> findListRows();
+
     @Query("SELECT COUNT(p) FROM ProjectIntake p")
     long countTotalProjects();
 
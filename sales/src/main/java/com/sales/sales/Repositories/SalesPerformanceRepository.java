@@ -1,11 +1,17 @@
 package com.sales.sales.Repositories;
 
 import com.sales.sales.Entity.SalesPerformance;
+import com.sales.sales.dto.MonthlySalesView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SalesPerformanceRepository extends JpaRepository<SalesPerformance, Long> {
@@ -15,5 +21,112 @@ public interface SalesPerformanceRepository extends JpaRepository<SalesPerforman
 
     @Query("SELECT SUM(sp.salesAchieved) FROM SalesPerformance sp WHERE sp.monthYear = :monthYear")
     Double getTotalSalesByMonth(String monthYear);
-}
 
+    Optional<SalesPerformance> findByEmpIdAndMonthYear(String empId, String monthYear);
+
+    // Range scan on the (month_year, department, team) index, one row per month
+    @Query("""
+        SELECT sp.monthYear AS monthYear, SUM(sp.salesTarget) AS salesTarget,
+               SUM(sp.salesAchieved) AS salesAchieved, SUM(sp.callsMade) AS callsMade
+        FROM SalesPerformance sp
+        WHERE sp.monthYear BETWEEN :fromMonth AND :toMonth
+        GROUP BY sp.monthYear
+        ORDER BY sp.monthYear
+    """)
+    List<MonthlySalesView> getMonthlyTotals(@Param("fromMonth") String fromMonth, @Param("toMonth") String toMonth);
+
+    @Query("""
+        SELECT sp.monthYear AS monthYear, SUM(sp.salesTarget) AS salesTarget,
+               SUM(sp.salesAchieved) AS salesAchieved, SUM(sp.callsMade) AS callsMade
+        FROM SalesPerformance sp
+        WHERE sp.monthYear BETWEEN :fromMonth AND :toMonth AND sp.department = :department
+        GROUP BY sp.monthYear
+        ORDER BY sp.monthYear
+    """)
+    List<MonthlySalesView> getMonthlyTotalsByDepartment(@Param("fromMonth") String fromMonth,
+                                                        @Param("toMonth") String toMonth,
+                                                        @Param("department") String department);
+
+    // Opens a month for every employee in one set-based statement: the employee's target and zero
+    // achieved and calls, which incrementMonth then adds to. Employees that already have a row for
+    // the month are skipped, so it can run again to fill in a partly written month
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO SalesPerformance (empId, employeeName, monthYear, department, team,
+                                      salesTarget, salesAchieved, targetAchievement, callsMade, createdAt)
+        SELECT e.empId, e.empName, :monthYear, e.department, e.team,
+               COALESCE(e.monthlyTarget, 0) * 1.0, 0.0, 0.0, 0, CURRENT_TIMESTAMP
+        FROM Employee e
+        WHERE NOT EXISTS (SELECT 1 FROM SalesPerformance sp WHERE sp.empId = e.empId AND sp.monthYear = :monthYear)
+    """)
+    int seedMonthFromEmployees(@Param("monthYear") String monthYear);
+
+    // Same empty month rows restricted to the given employees
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO SalesPerformance (empId, employeeName, monthYear, department, team,
+                                      salesTarget, salesAchieved, targetAchievement, callsMade, createdAt)
+        SELECT e.empId, e.empName, :monthYear, e.department, e.team,
+               COALESCE(e.monthlyTarget, 0) * 1.0, 0.0, 0.0, 0, CURRENT_TIMESTAMP
+        FROM Employee e
+        WHERE e.empId IN :empIds
+          AND NOT EXISTS (SELECT 1 FROM SalesPerformance sp WHERE sp.empId = e.empId AND sp.monthYear = :monthYear)
+    """)
+    int seedEmptyMonthForEmployees(@Param("monthYear") String monthYear, @Param("empIds") Collection<String> empIds);
+
+    // Month rows of newly inserted employees, carrying the figures they were created with;
+    // skips any that already have a row for the month
+    @Modifying
+    @Transactional
+    @Query("""
+        INSERT INTO SalesPerformance (empId, employeeName, monthYear, department, team,
+                                      salesTarget, salesAchieved, targetAchievement, callsMade, createdAt)
+        SELECT e.empId, e.empName, :monthYear, e.department, e.team,
+               COALESCE(e.monthlyTarget, 0) * 1.0, COALESCE(e.achieved, 0) * 1.0,
+               CASE WHEN e.monthlyTarget > 0 THEN COALESCE(e.achieved, 0) * 100.0 / e.monthlyTarget ELSE 0.0 END,
+               COALESCE(e.callsMade, 0), CURRENT_TIMESTAMP
+        FROM Employee e
+        WHERE e.empId IN :empIds
+          AND NOT EXISTS (SELECT 1 FROM SalesPerformance sp WHERE sp.empId = e.empId AND sp.monthYear = :monthYear)
+    """)
+    int seedMonthForEmployees(@Param("monthYear") String monthYear, @Param("empIds") Collection<String> empIds);
+
+    // Counter bump for one rollup row. targetAchievement is assigned first because MySQL evaluates
+    // SET left to right against the already updated columns
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE SalesPerformance sp
+        SET sp.targetAchievement = CASE WHEN sp.salesTarget > 0
+                THEN (COALESCE(sp.salesAchieved, 0) + :achieved) * 100.0 / sp.salesTarget ELSE 0.0 END,
+            sp.salesAchieved = COALESCE(sp.salesAchieved, 0) + :achieved,
+            sp.callsMade = COALESCE(sp.callsMade, 0) + :calls
+        WHERE sp.empId = :empId AND sp.monthYear = :monthYear
+    """)
+    int incrementMonth(@Param("empId") String empId, @Param("monthYear") String monthYear,
+                       @Param("calls") int calls, @Param("achieved") int achieved);
+
+    // Insert-or-update of one employee's month row on uk_sales_performance_emp_month, so concurrent
+    // writers for the same employee never race between a lookup and an insert. An existing row keeps
+    // its sales_achieved and calls_made, which only incrementMonth writes; target_achievement is
+    // recomputed from them against the new target
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO sales_performance (emp_id, employee_name, month_year, department, team,
+                                       sales_target, sales_achieved, target_achievement, calls_made, created_at)
+        VALUES (:empId, :employeeName, :monthYear, :department, :team,
+                :salesTarget, :salesAchieved, :targetAchievement, :callsMade, CURRENT_TIMESTAMP)
+        ON DUPLICATE KEY UPDATE employee_name = VALUES(employee_name), department = VALUES(department),
+                                team = VALUES(team), sales_target = VALUES(sales_target),
+                                target_achievement = CASE WHEN VALUES(sales_target) > 0
+                                    THEN COALESCE(sales_achieved, 0) * 100.0 / VALUES(sales_target) ELSE 0.0 END
+    """, nativeQuery = true)
+    int upsertMonth(@Param("empId") String empId, @Param("employeeName") String employeeName,
+                    @Param("monthYear") String monthYear, @Param("department") String department,
+                    @Param("team") String team, @Param("salesTarget") double salesTarget,
+                    @Param("salesAchieved") double salesAchieved, @Param("targetAchievement") double targetAchievement,
+                    @Param("callsMade") int callsMade);
+}
@@ -1,25 +1,46 @@
 package com.sales.sales.Repositories;
 
 import com.sales.sales.Entity.User;
+import com.sales.sales.dto.SearchHit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * User.role is lazy; every finder that hands out User entities loads it through the User.withRole
+ * graph so callers reading the role (login, the JWT filter, user responses) stay at one query.
+ */
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    @Override
+    @EntityGraph(User.WITH_ROLE)
+    List<User> findAll();
+
+    @Override
+    @EntityGraph(User.WITH_ROLE)
+    Optional<User> findById(Integer id);
+
+    @EntityGraph(User.WITH_ROLE)
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
+    // Source rows for the name search index
+    @Query("SELECT new com.sales.sales.dto.SearchHit('USER', CAST(u.userId AS String), u.fullName, CAST(NULL AS String), u.email) FROM User u")
+    List<SearchHit> findSearchHits();
+
     // ✔ Correct: roleName inside Role entity
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByRole_RoleName(String roleName);
 
     long countByRole_RoleName(String roleName);
 
     // ✔ Correct version of role + team
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByRole_RoleNameAndTeamAllocation(String roleName, String teamAllocation);
 
     // Count users by team allocation
@@ -38,10 +59,13 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     Double findAverageMonthlyTarget();
 
     // Find by team allocation
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByTeamAllocation(String teamAllocation);
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByCallTargetGreaterThan(Integer callTarget);
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByMonthlyTargetGreaterThan(Integer monthlyTarget);
 
     // Total users
@@ -49,6 +73,7 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     long getTotalUserCount();
 
     // Top performers by monthly target
+    @EntityGraph(User.WITH_ROLE)
     @Query("SELECT u FROM User u WHERE u.monthlyTarget IS NOT NULL ORDER BY u.monthlyTarget DESC")
     List<User> findTopPerformersByMonthlyTarget();
 
@@ -56,17 +81,23 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query("SELECT u.teamAllocation, SUM(u.monthlyTarget) FROM User u WHERE u.monthlyTarget IS NOT NULL GROUP BY u.teamAllocation")
     List<Object[]> findTotalMonthlyTargetByTeam();
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByTeamAllocationIsNull();
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByTeamAllocationIsNotNull();
 
     // ✔ Correct search by roles (fix: match Role objects)
+    @EntityGraph(User.WITH_ROLE)
     @Query("SELECT u FROM User u WHERE u.role.roleName IN :roleNames")
     List<User> findByRoles(List<String> roleNames);
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByFullNameContainingIgnoreCase(String name);
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByCallTargetBetween(Integer minTarget, Integer maxTarget);
 
+    @EntityGraph(User.WITH_ROLE)
     List<User> findByMonthlyTargetBetween(Integer minTarget, Integer maxTarget);
 }
\ No newline at end of file
@@ -31,6 +31,7 @@ public class AuthService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
+    private final NameSearchService nameSearch;
     
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -183,6 +184,7 @@ public class AuthService {
                     .build();
             
             userRepository.save(user);
+            nameSearch.onUserSaved(user);
             log.info("User registered successfully: {}", user.getEmail());
             return true;
             
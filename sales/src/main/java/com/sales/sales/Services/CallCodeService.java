@@ -0,0 +1,129 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Entity.CallCode;
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Repositories.CallCodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes call types and dispositions as call_codes ids.
+ *
+ * Codes are cached for the life of the process; the dictionary only grows and holds a few dozen
+ * names, so a miss is rare. A new name is added in its own transaction, so the code exists even if
+ * the call that introduced it is rolled back, and the insert ignores a duplicate so concurrent
+ * writers and nodes settle on the same id.
+ */
+@Slf4j
+@Service
+public class CallCodeService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO call_codes (kind, name) VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE id = id
+            """;
+    private static final int BACKFILL_CHUNK = 10_000;
+    private static final String BACKFILL_SQL = """
+            UPDATE call_details
+            SET call_type_code = (SELECT k.id FROM call_codes k
+                                  WHERE k.kind = 'CALL_TYPE' AND k.name = LOWER(TRIM(COALESCE(call_details.call_type, '')))),
+                disposition_code = (SELECT k.id FROM call_codes k
+                                    WHERE k.kind = 'DISPOSITION' AND k.name = LOWER(TRIM(COALESCE(call_details.disposition, ''))))
+            WHERE call_type_code IS NULL OR disposition_code IS NULL
+            LIMIT %d
+            """.formatted(BACKFILL_CHUNK);
+
+    private final CallCodeRepository codeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<CallCode.Kind, Map<String, Integer>> cache = new EnumMap<>(CallCode.Kind.class);
+
+    public CallCodeService(CallCodeRepository codeRepository, JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.codeRepository = codeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (CallCode.Kind kind : CallCode.Kind.values()) {
+            cache.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Same normalization as the rollup keys and the backfill SQL
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Sets both codes from the call's current type and disposition
+    public void encode(CallDetail call) {
+        call.setCallTypeCode(codeOf(CallCode.Kind.CALL_TYPE, call.getCallType()));
+        call.setDispositionCode(codeOf(CallCode.Kind.DISPOSITION, call.getDisposition()));
+    }
+
+    public Integer codeOf(CallCode.Kind kind, String value) {
+        String name = normalize(value);
+        Map<String, Integer> codes = cache.get(kind);
+        Integer code = codes.get(name);
+        if (code == null) {
+            code = newTransaction.execute(status -> {
+                jdbcTemplate.update(INSERT_SQL, kind.name(), name);
+                return codeRepository.findByKindAndName(kind, name).map(CallCode::getId).orElseThrow();
+            });
+            codes.put(name, code);
+        }
+        return code;
+    }
+
+    /**
+     * Encodes calls written before the codes existed, or by anything that bypasses the services.
+     * Runs in chunks so no single transaction locks the whole table; a no-op once every call has
+     * its codes, which the code indexes answer without a scan.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            encodePending();
+        } catch (Exception e) {
+            log.error("Error backfilling call codes: {}", e.getMessage());
+        }
+    }
+
+    // The backfill for callers that must not go on when it fails, like CallRollupService#backfill
+    public void encodePending() {
+        Integer pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM call_details WHERE call_type_code IS NULL OR disposition_code IS NULL",
+                Integer.class);
+        if (pending == null || pending == 0) {
+            return;
+        }
+        addNames(CallCode.Kind.CALL_TYPE, "call_type");
+        addNames(CallCode.Kind.DISPOSITION, "disposition");
+        long encoded = 0;
+        int rows;
+        do {
+            rows = jdbcTemplate.update(BACKFILL_SQL);
+            encoded += rows;
+        } while (rows == BACKFILL_CHUNK && encoded < pending);
+        log.info("CallCodeService : encodePending() : Encoded {} calls", encoded);
+    }
+
+    private void addNames(CallCode.Kind kind, String column) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT DISTINCT " + column + " FROM call_details WHERE call_type_code IS NULL OR disposition_code IS NULL",
+                String.class);
+        names.forEach(name -> codeOf(kind, name));
+    }
+}
@@ -1,16 +1,23 @@
 package com.sales.sales.Services;
 
 import com.sales.sales.Entity.CallDetail;
-import com.sales.sales.Entity.Employee;
+import com.sales.sales.Repositories.CallDailyRollupRepository;
 import com.sales.sales.Repositories.CallDetailRepository;
+import com.sales.sales.Repositories.CallDetailSpecifications;
 import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.dto.CallTotalsView;
+import com.sales.sales.dto.EmployeeTargetTotalsView;
+import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 
 @Service
@@ -19,11 +26,29 @@ public class CallDetailService {
     private final CallDetailRepository repo;
     private final CallDetailRepository callRepo;
     private final EmployeeRepository employeeRepo;
-
-    public CallDetailService(CallDetailRepository repo, CallDetailRepository callRepo, EmployeeRepository employeeRepo) {
+    private final DataVersionService dataVersions;
+    private final EmployeeCounterService employeeCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelMapper modelMapper;
+    private final CallDailyRollupRepository rollupRepo;
+    private final CallRollupService callRollups;
+    private final CallCodeService callCodes;
+
+    public CallDetailService(CallDetailRepository repo, CallDetailRepository callRepo, EmployeeRepository employeeRepo,
+                             DataVersionService dataVersions, EmployeeCounterService employeeCounters,
+                             TransactionTemplate transactionTemplate, ModelMapper modelMapper,
+                             CallDailyRollupRepository rollupRepo, CallRollupService callRollups,
+                             CallCodeService callCodes) {
         this.repo = repo;
         this.callRepo = callRepo;
         this.employeeRepo = employeeRepo;
+        this.dataVersions = dataVersions;
+        this.employeeCounters = employeeCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.modelMapper = modelMapper;
+        this.rollupRepo = rollupRepo;
+        this.callRollups = callRollups;
+        this.callCodes = callCodes;
     }
 
     // Get all call records
@@ -38,21 +63,72 @@ public class CallDetailService {
 
     // Add new call record
     public CallDetail addCall(CallDetail call) {
-        return repo.save(call);
+        callCodes.encode(call);
+        CallDetail saved = transactionTemplate.execute(status -> {
+            CallDetail inserted = repo.save(call);
+            callRollups.add(List.of(inserted));
+            return inserted;
+        });
+        dataVersions.bump(DataVersionService.Aggregate.CALLS);
+        employeeCounters.recordCalls(saved.getEmpId(), 1);
+        return saved;
     }
 
     // Update existing call record
     public CallDetail updateCall(Long id, CallDetail call) {
-        if (repo.existsById(id)) {
-//            call.setCallId(id);
+        return update(id, call.getVersion(), current -> {
+            call.setCallId(id);
+            call.setVersion(current.getVersion());
             return repo.save(call);
+        });
+    }
+
+    // Partial update: null fields in the body are left unchanged
+    public CallDetail patchCall(Long id, CallDetail patch) {
+        return update(id, patch.getVersion(), current -> {
+            patch.setCallId(null);
+            patch.setVersion(null);
+            modelMapper.map(patch, current);
+            return current;
+        });
+    }
+
+    // Version-checked load and change in one transaction, together with the rollup move; a call
+    // moved to another employee moves its count
+    private CallDetail update(Long id, Long expectedVersion, UnaryOperator<CallDetail> change) {
+        Updated updated = transactionTemplate.execute(status -> repo.findById(id).map(current -> {
+            VersionCheck.require(CallDetail.class, id, expectedVersion, current.getVersion());
+            String previousEmpId = current.getEmpId();
+            CallRollupService.Key previousKey = CallRollupService.Key.of(current);
+            int previousDuration = current.getDuration() != null ? current.getDuration() : 0;
+            CallDetail changed = change.apply(current);
+            callCodes.encode(changed);
+            callRollups.replace(previousKey, previousDuration, changed);
+            return new Updated(previousEmpId, changed);
+        }).orElse(null));
+        if (updated == null) {
+            return null;
+        }
+        dataVersions.bump(DataVersionService.Aggregate.CALLS);
+        if (!Objects.equals(updated.previousEmpId(), updated.call().getEmpId())) {
+            employeeCounters.recordCalls(updated.previousEmpId(), -1);
+            employeeCounters.recordCalls(updated.call().getEmpId(), 1);
         }
-        return null;
+        return updated.call();
     }
 
     // Delete call record
     public void deleteCall(Long id) {
-        repo.deleteById(id);
+        Optional<CallDetail> existing = transactionTemplate.execute(status -> {
+            Optional<CallDetail> call = repo.findById(id);
+            call.ifPresent(c -> {
+                repo.delete(c);
+                callRollups.remove(List.of(c));
+            });
+            return call;
+        });
+        dataVersions.bump(DataVersionService.Aggregate.CALLS);
+        existing.ifPresent(call -> employeeCounters.recordCalls(call.getEmpId(), -1));
     }
 
 
@@ -66,28 +142,22 @@ public class CallDetailService {
             case "30days" -> endDate.minusDays(30);
             default -> null;
         };
-        return callRepo.filterCalls(name, team, startDate, endDate);
+        return callRepo.findAll(CallDetailSpecifications.filter(team, startDate, endDate));
     }
 
 
-    // ✅ API 2 - Summary (total calls, target, met, avg duration)
-    public Map<String, Object> getCallSummary() {
-        List<Employee> employees = employeeRepo.findAll();
-        List<CallDetail> allCalls = callRepo.findAll();
+    // ✅ API 2 - Summary (total calls, target, met, avg duration); call figures come from the
+    // daily rollup, over all days unless from/to narrow it, and targets from one aggregate query
+    public Map<String, Object> getCallSummary(LocalDate from, LocalDate to) {
+        EmployeeTargetTotalsView targets = employeeRepo.getTargetTotals();
+        CallTotalsView calls = rollupRepo.getTotals(rangeStart(from), rangeEnd(to));
 
-        int totalCallTarget = employees.stream()
-                .mapToInt(e -> Optional.ofNullable(e.getMonthlyCallTarget()).orElse(0))
-                .sum();
-
-        int totalCallsMade = allCalls.size();
-        int targetMet = employees.stream()
-                .mapToInt(e -> Optional.ofNullable(e.getMeetTarget()).orElse(0))
-                .sum();
+        long totalCallTarget = targets.getTotalCallTarget();
+        long totalCallsMade = calls.getCallCount();
+        long targetMet = targets.getTotalMeetTarget();
 
         // Average duration (in seconds → mm:ss)
-        double avgSeconds = allCalls.isEmpty()
-                ? 0
-                : allCalls.stream().mapToInt(CallDetail::getDuration).average().orElse(0);
+        double avgSeconds = totalCallsMade == 0 ? 0 : (double) calls.getTotalDuration() / totalCallsMade;
         int avgMin = (int) (avgSeconds / 60);
         int avgSec = (int) (avgSeconds % 60);
         String formattedAvg = String.format("%02d:%02d", avgMin, avgSec);
@@ -103,23 +173,37 @@ public class CallDetailService {
 
 
     // ✅ API 5 - Call Type Summary
-    public Map<String, Long> getCallTypeSummary() {
+    public Map<String, Long> getCallTypeSummary(LocalDate from, LocalDate to) {
         Map<String, Long> summary = new LinkedHashMap<>();
-        for (Object[] row : callRepo.countByCallType()) {
-            summary.put(row[0].toString(), (Long) row[1]);
+        for (Object[] row : rollupRepo.countByCallType(rangeStart(from), rangeEnd(to))) {
+            summary.put(label(row[0]), (Long) row[1]);
         }
         return summary;
     }
 
     // ✅ API 6 - Disposition Summary
-    public Map<String, Long> getDispositionSummary() {
+    public Map<String, Long> getDispositionSummary(LocalDate from, LocalDate to) {
         Map<String, Long> summary = new LinkedHashMap<>();
-        for (Object[] row : callRepo.countByDisposition()) {
-            summary.put(row[0].toString(), (Long) row[1]);
+        for (Object[] row : rollupRepo.countByDisposition(rangeStart(from), rangeEnd(to))) {
+            summary.put(label(row[0]), (Long) row[1]);
         }
         return summary;
     }
 
+    // The rollup stores a missing type or disposition as ''
+    private static String label(Object value) {
+        return value == null || value.toString().isEmpty() ? "unknown" : value.toString();
+    }
+
+    // Open-ended ranges as bounds, so the rollup reads stay a plain range scan on call_date
+    private static LocalDate rangeStart(LocalDate from) {
+        return from != null ? from : LocalDate.of(1970, 1, 1);
+    }
 
+    private static LocalDate rangeEnd(LocalDate to) {
+        return to != null ? to : LocalDate.of(9999, 12, 31);
+    }
 
+    private record Updated(String previousEmpId, CallDetail call) {
+    }
 }
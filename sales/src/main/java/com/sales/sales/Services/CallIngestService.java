@@ -0,0 +1,366 @@
+package com.sales.sales.Services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.dto.CallIngestMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batch call ingest for the dialer.
+ *
+ * Requests are accepted into a bounded in-memory queue and answered straight away; a single
+ * consumer thread drains the queue in batches of up to calls.ingest.batch-size and writes each
+ * batch with one JDBC batch insert (a multi-row INSERT with rewriteBatchedStatements), so the
+ * IDENTITY key costs nothing per row. A request is accepted whole or not at all: when its calls
+ * do not fit in the free queue capacity the caller gets 429 and should retry later.
+ *
+ * Requests are validated before they are queued, so a call the table cannot hold is answered
+ * with 400 instead of failing its batch later. Accepted calls are in memory until their batch
+ * commits, and their queue slots are only given back then. A batch that fails on its data is
+ * written again row by row, so only the rows that fail on their own are lost. A batch that fails
+ * otherwise (the database is down) is retried with a backoff of up to MAX_BACKOFF_MILLIS for as
+ * long as it takes; meanwhile the queue fills up and callers get 429 instead of losing calls.
+ * Lost calls are counted as failed and appended, with the reason, to the dead-letter file
+ * calls.ingest.dead-letter-file, one JSON object per line, from where they can be resubmitted.
+ * A shutdown drains what is queued first; from then on a failing batch is dead-lettered instead of
+ * retried, since nothing would be left to retry it.
+ */
+@Slf4j
+@Service
+public class CallIngestService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO call_details (emp_id, call_date, call_type, disposition, duration, team,
+                                      call_type_code, disposition_code, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+    // VARCHAR(255), the default length of the call_details string columns
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeCounterService employeeCounters;
+    private final DataVersionService dataVersions;
+    private final CallRollupService callRollups;
+    private final CallCodeService callCodes;
+    private final ObjectMapper objectMapper;
+    private final Path deadLetterFile;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    private final ArrayBlockingQueue<CallDetail> queue;
+    // Free queue slots; a request takes all the slots it needs or none, the consumer gives them back
+    private final Semaphore freeSlots;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong totalFlushMillis = new AtomicLong();
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+
+    private final boolean consumerEnabled;
+    private volatile boolean running = true;
+    private Thread consumer;
+
+    public CallIngestService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             EmployeeCounterService employeeCounters, DataVersionService dataVersions,
+                             CallRollupService callRollups, CallCodeService callCodes, ObjectMapper objectMapper,
+                             @Value("${calls.ingest.dead-letter-file:call-ingest-failed.ndjson}") String deadLetterFile,
+                             @Value("${calls.ingest.queue-capacity:200000}") int queueCapacity,
+                             @Value("${calls.ingest.batch-size:1000}") int batchSize,
+                             @Value("${calls.ingest.consumer-enabled:true}") boolean consumerEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.employeeCounters = employeeCounters;
+        this.dataVersions = dataVersions;
+        this.callRollups = callRollups;
+        this.callCodes = callCodes;
+        this.objectMapper = objectMapper;
+        this.deadLetterFile = Path.of(deadLetterFile);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.consumerEnabled = consumerEnabled;
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.freeSlots = new Semaphore(this.queueCapacity);
+    }
+
+    // After CallRollupService#backfill, which must not see calls from the queue
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (consumerEnabled && consumer == null) {
+            consumer = new Thread(this::consume, "call-ingest");
+            consumer.setDaemon(true);
+            consumer.start();
+            log.info("CallIngestService : start() : Queue capacity {}, batch size {}", queueCapacity, batchSize);
+        }
+    }
+
+    /**
+     * Problems that would make the insert fail, one message per bad call; empty when every call
+     * can be written. Callers answer 400 and queue nothing when this is not empty.
+     */
+    public List<String> validate(List<CallDetail> calls) {
+        List<String> problems = new ArrayList<>();
+        for (int i = 0; i < calls.size(); i++) {
+            CallDetail call = calls.get(i);
+            String problem = null;
+            if (call == null) {
+                problem = "Call is empty";
+            } else if (call.getEmpId() == null || call.getEmpId().isBlank()) {
+                problem = "Employee ID is required";
+            } else if (tooLong(call.getEmpId()) || tooLong(call.getCallType()) || tooLong(call.getDisposition())
+                    || tooLong(call.getTeam())) {
+                problem = "Text fields are limited to " + MAX_TEXT_LENGTH + " characters";
+            } else if (call.getDuration() != null && call.getDuration() < 0) {
+                problem = "Duration must not be negative";
+            }
+            if (problem != null) {
+                problems.add("Call " + (i + 1) + ": " + problem);
+            }
+        }
+        return problems;
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    /**
+     * Queues the calls for insertion; they must have passed validate. Returns false, queuing nothing, when they do not fit in
+     * the free capacity or the service is shutting down.
+     */
+    public boolean submit(List<CallDetail> calls) {
+        if (calls.isEmpty()) {
+            return true;
+        }
+        if (!running || calls.size() > queueCapacity || !freeSlots.tryAcquire(calls.size())) {
+            rejected.addAndGet(calls.size());
+            return false;
+        }
+        try {
+            for (CallDetail call : calls) {
+                // Same defaults and codes as the entity callbacks and CallDetailService, which the JDBC insert bypasses
+                if (call.getCallDate() == null) {
+                    call.setCallDate(LocalDate.now());
+                }
+                if (call.getDuration() == null) {
+                    call.setDuration(0);
+                }
+                callCodes.encode(call);
+            }
+        } catch (RuntimeException e) {
+            freeSlots.release(calls.size());
+            throw e;
+        }
+        for (CallDetail call : calls) {
+            // Cannot fail: the acquired slots guarantee the room
+            queue.offer(call);
+        }
+        accepted.addAndGet(calls.size());
+        return true;
+    }
+
+    public CallIngestMetrics metrics() {
+        long batchCount = batches.get();
+        return new CallIngestMetrics(queue.size(), queueCapacity, accepted.get(), rejected.get(), written.get(),
+                failed.get(), batchCount, lastFlushMillis.get(),
+                batchCount > 0 ? (double) totalFlushMillis.get() / batchCount : 0.0, maxFlushMillis.get());
+    }
+
+    private void consume() {
+        List<CallDetail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                CallDetail first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Shutdown: keep draining until the queue is empty
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Error in call ingest consumer: {}", e.getMessage());
+            } finally {
+                // Only now, so a batch being retried keeps its room and the callers get 429
+                freeSlots.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<CallDetail> batch) {
+        long started = System.nanoTime();
+        DataAccessException error = insertRetrying(batch);
+        if (error == null) {
+            recordFlush(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            written.addAndGet(batch.size());
+            afterWrite(batch);
+        } else if (isBadData(error)) {
+            // Retrying the batch would fail on the same row again
+            writeRowByRow(batch);
+        } else {
+            deadLetter(batch, error.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // One transaction per call, so only the calls that fail on their own are dead-lettered
+    private void writeRowByRow(List<CallDetail> batch) {
+        List<CallDetail> inserted = new ArrayList<>(batch.size());
+        for (CallDetail call : batch) {
+            DataAccessException error = insertRetrying(List.of(call));
+            if (error == null) {
+                inserted.add(call);
+            } else {
+                deadLetter(List.of(call), error.getMostSpecificCause().getMessage());
+            }
+        }
+        log.info("CallIngestService : writeRowByRow() : Wrote {} of {} calls one by one", inserted.size(), batch.size());
+        if (!inserted.isEmpty()) {
+            written.addAndGet(inserted.size());
+            afterWrite(inserted);
+        }
+    }
+
+    /**
+     * Inserts the calls, retrying for as long as the failure is not theirs and the service runs.
+     * Returns null once they are written, otherwise the error that ended the retries.
+     */
+    private DataAccessException insertRetrying(List<CallDetail> calls) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(calls);
+                return null;
+            } catch (DataAccessException e) {
+                log.error("Error writing {} calls (attempt {}): {}", calls.size(), attempt,
+                        e.getMostSpecificCause().getMessage());
+                if (isBadData(e) || !running) {
+                    return e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(Math.min(500L * attempt, MAX_BACKOFF_MILLIS));
+        } catch (InterruptedException e) {
+            // Shutdown: the next failure dead-letters the calls instead of waiting again
+            running = false;
+        }
+    }
+
+    private void insert(List<CallDetail> calls) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, calls, calls.size(), (ps, call) -> {
+                ps.setString(1, call.getEmpId());
+                ps.setDate(2, Date.valueOf(call.getCallDate()));
+                ps.setString(3, call.getCallType());
+                ps.setString(4, call.getDisposition());
+                ps.setInt(5, call.getDuration());
+                ps.setString(6, call.getTeam());
+                ps.setInt(7, call.getCallTypeCode());
+                ps.setInt(8, call.getDispositionCode());
+            });
+            callRollups.add(calls);
+        });
+    }
+
+    // Constraint violations, data too long and bad SQL fail the same way every time; a lost connection does not
+    private static boolean isBadData(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void deadLetter(List<CallDetail> calls, String cause) {
+        failed.addAndGet(calls.size());
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (CallDetail call : calls) {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("failedAt", LocalDateTime.now());
+                line.put("reason", cause);
+                line.put("call", call);
+                lines.append(objectMapper.writeValueAsString(line)).append('\n');
+            }
+            Path directory = deadLetterFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            Files.writeString(deadLetterFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.error("Dropped {} calls, written to {}: {}", calls.size(), deadLetterFile, cause);
+        } catch (IOException e) {
+            // Last resort: the log is then the only record of the calls
+            log.error("Error writing {} dropped calls to {}: {}; calls: {}", calls.size(), deadLetterFile,
+                    e.getMessage(), lines.length() > 0 ? lines : calls);
+        }
+    }
+
+    private void afterWrite(List<CallDetail> batch) {
+        Map<String, Integer> callsByEmployee = new HashMap<>();
+        for (CallDetail call : batch) {
+            if (call.getEmpId() != null) {
+                callsByEmployee.merge(call.getEmpId(), 1, Integer::sum);
+            }
+        }
+        callsByEmployee.forEach(employeeCounters::recordCalls);
+        dataVersions.bump(DataVersionService.Aggregate.CALLS);
+    }
+
+    private void recordFlush(long millis) {
+        batches.incrementAndGet();
+        totalFlushMillis.addAndGet(millis);
+        lastFlushMillis.set(millis);
+        maxFlushMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread;
+        synchronized (this) {
+            thread = consumer;
+        }
+        if (thread != null) {
+            log.info("CallIngestService : stop() : Draining {} queued calls", queue.size());
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+}
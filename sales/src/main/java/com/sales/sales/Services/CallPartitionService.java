@@ -0,0 +1,246 @@
+package com.sales.sales.Services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Monthly RANGE COLUMNS partitioning of call_details on call_date, managed by the application
+ * (MySQL only; other databases are left alone). Opt-in through calls.partitions.enabled.
+ *
+ * On the first start with it enabled against an unpartitioned table the table is converted once:
+ * calls without a date get today's date, the primary key becomes (call_id, call_date), since MySQL
+ * requires every unique key to contain the partitioning column, and the table is rebuilt with one
+ * partition per month plus a catch-all pmax. Months older than the retention window go into a
+ * single pold partition. The conversion runs before the web server opens its connectors, so no
+ * request writes to the table meanwhile; the rebuild copies the whole table, so expect that start
+ * to take as long as the copy.
+ *
+ * The daily maintenance, which runs on its own callPartitionExecutor thread rather than the shared
+ * scheduler, then keeps calls.partitions.months-ahead empty months split off pmax and
+ * moves every partition that lies wholly before the retention window into call_details_archive,
+ * an unpartitioned table with compressed rows, before dropping it. The copy uses INSERT IGNORE on
+ * the same primary key, so a run that stops between the copy and the drop is safely repeated.
+ * The daily rollup keeps the archived calls, so the call summaries still cover all history.
+ *
+ * Queries prune to the months they touch as long as they compare call_date directly, as
+ * CallDetailSpecifications and the rollup reads do; a function applied to call_date defeats pruning.
+ */
+@Slf4j
+@Service
+public class CallPartitionService implements SmartInitializingSingleton {
+
+    private static final String TABLE = "call_details";
+    private static final String ARCHIVE_TABLE = "call_details_archive";
+    private static final String COLUMNS =
+            "call_id, emp_id, call_date, call_type, disposition, duration, team, call_type_code, disposition_code, version";
+    private static final String OLDEST = "pold";
+    private static final String CATCH_ALL = "pmax";
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor maintenanceExecutor;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int monthsAhead;
+
+    private volatile Boolean mysql;
+
+    public CallPartitionService(JdbcTemplate jdbcTemplate,
+                                @Qualifier("callPartitionExecutor") Executor maintenanceExecutor,
+                                @Value("${calls.partitions.enabled:false}") boolean enabled,
+                                @Value("${calls.partitions.retention-months:24}") int retentionMonths,
+                                @Value("${calls.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maintenanceExecutor = maintenanceExecutor;
+        this.enabled = enabled;
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    /**
+     * Converts an unpartitioned table once every bean exists and before the web server accepts
+     * requests. Undated calls get the current date, the date CallRollupService#backfill counts
+     * them under.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        partitionIfNeeded();
+    }
+
+    public void partitionIfNeeded() {
+        if (!isActive()) {
+            return;
+        }
+        try {
+            if (partitions().isEmpty()) {
+                partitionTable();
+            }
+        } catch (Exception e) {
+            log.error("Error partitioning {}: {}", TABLE, e.getMessage());
+        }
+    }
+
+    // Catches up on maintenance missed while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        scheduleMaintenance();
+    }
+
+    // Only hands the run to the maintenance thread, so the scheduler thread is free straight away
+    @Scheduled(cron = "${calls.partitions.maintenance-cron:0 30 2 * * *}")
+    public void scheduleMaintenance() {
+        maintenanceExecutor.execute(this::maintain);
+    }
+
+    public synchronized void maintain() {
+        if (!isActive()) {
+            return;
+        }
+        try {
+            List<Partition> partitions = partitions();
+            if (partitions.isEmpty()) {
+                return;
+            }
+            addFuturePartitions(partitions);
+            archiveExpiredPartitions(partitions);
+        } catch (Exception e) {
+            log.error("Error maintaining {} partitions: {}", TABLE, e.getMessage());
+        }
+    }
+
+    private synchronized void partitionTable() {
+        YearMonth current = YearMonth.now();
+        YearMonth first = current.minusMonths(retentionMonths);
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT MIN(call_date) FROM " + TABLE, LocalDate.class);
+        if (oldest != null && YearMonth.from(oldest).isAfter(first)) {
+            first = YearMonth.from(oldest);
+        }
+
+        log.info("CallPartitionService : partitionTable() : Partitioning {} by month from {}", TABLE, first);
+        jdbcTemplate.update("UPDATE " + TABLE + " SET call_date = CURRENT_DATE WHERE call_date IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY call_date DATE NOT NULL, "
+                + "DROP PRIMARY KEY, ADD PRIMARY KEY (call_id, call_date)");
+
+        List<String> definitions = new ArrayList<>();
+        definitions.add(definition(OLDEST, first.atDay(1)));
+        definitions.addAll(monthDefinitions(first, current.plusMonths(monthsAhead)));
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(call_date) ("
+                + String.join(", ", definitions) + ")");
+        log.info("CallPartitionService : partitionTable() : Created {} partitions", definitions.size());
+    }
+
+    // Splits empty months off pmax up to months-ahead; pmax only ever holds calls dated further out
+    private void addFuturePartitions(List<Partition> partitions) {
+        LocalDate lastBound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(bound -> bound != null)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        if (lastBound == null || !YearMonth.from(lastBound).isBefore(last.plusMonths(1))) {
+            return;
+        }
+
+        List<String> definitions = monthDefinitions(YearMonth.from(lastBound), last);
+        definitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO ("
+                + String.join(", ", definitions) + ")");
+        log.info("CallPartitionService : addFuturePartitions() : Added partitions through {}", last);
+    }
+
+    private void archiveExpiredPartitions(List<Partition> partitions) {
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        List<Partition> expired = partitions.stream()
+                .filter(p -> p.upperBound() != null && !p.upperBound().isAfter(cutoff))
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        createArchiveTable();
+        for (Partition partition : expired) {
+            int rows = jdbcTemplate.update("INSERT IGNORE INTO " + ARCHIVE_TABLE + " (" + COLUMNS + ") SELECT "
+                    + COLUMNS + " FROM " + TABLE + " PARTITION (" + partition.name() + ")");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+            log.info("CallPartitionService : archiveExpiredPartitions() : Archived {} calls from partition {}",
+                    rows, partition.name());
+        }
+    }
+
+    private void createArchiveTable() {
+        Integer exists = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.TABLES "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", Integer.class, ARCHIVE_TABLE);
+        if (exists != null && exists > 0) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + ARCHIVE_TABLE + " LIKE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " REMOVE PARTITIONING");
+        jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " ROW_FORMAT=COMPRESSED");
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query("""
+                SELECT PARTITION_NAME, PARTITION_DESCRIPTION
+                FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, (rs, i) -> new Partition(rs.getString(1), upperBound(rs.getString(2))), TABLE);
+    }
+
+    // One partition per month from..to inclusive
+    static List<String> monthDefinitions(YearMonth from, YearMonth to) {
+        return from.atDay(1).datesUntil(to.plusMonths(1).atDay(1), Period.ofMonths(1))
+                .map(day -> definition(YearMonth.from(day).format(MONTH_NAME), day.plusMonths(1)))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static String definition(String name, LocalDate lessThan) {
+        return "PARTITION " + name + " VALUES LESS THAN ('" + lessThan + "')";
+    }
+
+    // PARTITION_DESCRIPTION is the quoted date, or MAXVALUE for the catch-all
+    static LocalDate upperBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").trim());
+    }
+
+    private boolean isActive() {
+        if (!enabled) {
+            return false;
+        }
+        if (mysql == null) {
+            try {
+                mysql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                        connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql"));
+            } catch (Exception e) {
+                log.error("Error detecting database for call partitioning: {}", e.getMessage());
+                return false;
+            }
+        }
+        return Boolean.TRUE.equals(mysql);
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
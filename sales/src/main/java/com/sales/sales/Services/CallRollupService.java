@@ -0,0 +1,170 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Entity.CallCode;
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Repositories.CallDailyRollupRepository;
+import com.sales.sales.Repositories.CallDetailRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Keeps call_daily_rollup in step with call_details.
+ *
+ * The call write paths pass the calls they insert, delete or change to {@link #add} and
+ * {@link #remove} inside their own transaction, so the rollup commits or rolls back with the
+ * calls. The changes are summed per rollup key first and then applied with one upsert per key
+ * ({@code INSERT ... ON DUPLICATE KEY UPDATE call_count = call_count + ...}) in key order, so
+ * concurrent writers lock rollup rows in the same order. The upsert matches on the call_codes ids of
+ * the normalized names, which CallCodeService hands out from its cache.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CallRollupService implements SmartInitializingSingleton {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO call_daily_rollup (call_date, emp_id, team, call_type, disposition, call_type_code,
+                                           disposition_code, call_count, total_duration)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE call_count = call_count + VALUES(call_count),
+                                    total_duration = total_duration + VALUES(total_duration)
+            """;
+
+    private final CallDailyRollupRepository rollupRepository;
+    private final CallDetailRepository callRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CallCodeService callCodes;
+
+    /**
+     * Runs the backfill once every bean exists and before the web server opens its connectors, so
+     * no request can write a call, or its rollup row, while call_details is being read. A failed
+     * backfill fails the startup: the rollup would otherwise stay empty or miss calls.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    /**
+     * Builds the rollup from call_details when it is empty, e.g. on first deployment. Also ahead
+     * of CallIngestService#start, so queued calls are not counted twice. The rows are inserted in
+     * one transaction, so a failed backfill leaves the rollup empty and the next startup runs it again.
+     */
+    public void backfill() {
+        try {
+            if (!rollupRepository.existsByIdIsNotNull() && callRepository.existsByCallIdIsNotNull()) {
+                // Calls whose names have no codes yet would be left out by the backfill's joins
+                callCodes.encodePending();
+                int rows = rollupRepository.backfillFromCallDetails();
+                log.info("CallRollupService : backfill() : Built {} call rollup rows from call_details", rows);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error backfilling call rollup: {}", e.getMessage());
+            throw new IllegalStateException("Call rollup backfill failed", e);
+        }
+    }
+
+    // Must run inside the transaction that inserted the calls
+    public void add(Collection<CallDetail> calls) {
+        apply(calls, List.of());
+    }
+
+    // Must run inside the transaction that deleted the calls
+    public void remove(Collection<CallDetail> calls) {
+        apply(List.of(), calls);
+    }
+
+    /**
+     * Moves one call from its old rollup row to its new one; a no-op when neither the key nor
+     * the duration changed.
+     */
+    public void replace(Key before, int durationBefore, CallDetail after) {
+        Map<Key, long[]> deltas = new TreeMap<>();
+        addDelta(deltas, before, -1, -durationBefore);
+        addDelta(deltas, Key.of(after), 1, duration(after));
+        write(deltas);
+    }
+
+    private void apply(Collection<CallDetail> added, Collection<CallDetail> removed) {
+        Map<Key, long[]> deltas = new TreeMap<>();
+        for (CallDetail call : added) {
+            addDelta(deltas, Key.of(call), 1, duration(call));
+        }
+        for (CallDetail call : removed) {
+            addDelta(deltas, Key.of(call), -1, -duration(call));
+        }
+        write(deltas);
+    }
+
+    private void write(Map<Key, long[]> deltas) {
+        // Codes are resolved up front: a name not yet in the cache is added in a transaction of its own
+        List<Change> changes = deltas.entrySet().stream()
+                .filter(e -> e.getValue()[0] != 0 || e.getValue()[1] != 0)
+                .map(e -> new Change(e.getKey(),
+                        callCodes.codeOf(CallCode.Kind.CALL_TYPE, e.getKey().callType()),
+                        callCodes.codeOf(CallCode.Kind.DISPOSITION, e.getKey().disposition()),
+                        e.getValue()[0], e.getValue()[1]))
+                .toList();
+        if (changes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), (ps, change) -> {
+            Key key = change.key();
+            ps.setDate(1, Date.valueOf(key.callDate()));
+            ps.setString(2, key.empId());
+            ps.setString(3, key.team());
+            ps.setString(4, key.callType());
+            ps.setString(5, key.disposition());
+            ps.setInt(6, change.callTypeCode());
+            ps.setInt(7, change.dispositionCode());
+            ps.setLong(8, change.calls());
+            ps.setLong(9, change.duration());
+        });
+    }
+
+    private static void addDelta(Map<Key, long[]> deltas, Key key, long calls, long duration) {
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+        delta[0] += calls;
+        delta[1] += duration;
+    }
+
+    private static int duration(CallDetail call) {
+        return call.getDuration() != null ? call.getDuration() : 0;
+    }
+
+    private record Change(Key key, int callTypeCode, int dispositionCode, long calls, long duration) {
+    }
+
+    /**
+     * Rollup row of a call, normalized the same way as CallDailyRollupRepository#backfillFromCallDetails.
+     */
+    public record Key(LocalDate callDate, String empId, String team, String callType, String disposition)
+            implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::callDate)
+                .thenComparing(Key::empId)
+                .thenComparing(Key::team)
+                .thenComparing(Key::callType)
+                .thenComparing(Key::disposition);
+
+        public static Key of(CallDetail call) {
+            return new Key(call.getCallDate() != null ? call.getCallDate() : LocalDate.now(),
+                    call.getEmpId() != null ? call.getEmpId() : "",
+                    call.getTeam() != null ? call.getTeam() : "",
+                    CallCodeService.normalize(call.getCallType()),
+                    CallCodeService.normalize(call.getDisposition()));
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
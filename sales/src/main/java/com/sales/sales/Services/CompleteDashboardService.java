@@ -0,0 +1,114 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.dto.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Builds the composite dashboard payload. The snapshot-backed sections are in-memory reads and run
+ * inline; only the database-backed overview goes to the bounded dashboard executor, under a deadline
+ * (dashboard.section-timeout-ms.overview, falling back to dashboard.section-timeout-ms) that is also
+ * its transaction's query timeout, so a slow query is cancelled and frees its thread and connection
+ * rather than running on after the response has gone. A section that fails or misses its deadline
+ * is returned as null and listed under "degraded" instead of failing the whole response.
+ */
+@Slf4j
+@Service
+public class CompleteDashboardService {
+
+    private final DashboardService dashboardService;
+    private final DashboardSnapshotService dashboardSnapshot;
+    private final Executor executor;
+    private final PlatformTransactionManager transactionManager;
+    private final Environment environment;
+    private final long defaultTimeoutMs;
+
+    public CompleteDashboardService(DashboardService dashboardService,
+                                    DashboardSnapshotService dashboardSnapshot,
+                                    @Qualifier("dashboardExecutor") Executor executor,
+                                    PlatformTransactionManager transactionManager,
+                                    Environment environment,
+                                    @Value("${dashboard.section-timeout-ms:3000}") long defaultTimeoutMs) {
+        this.dashboardService = dashboardService;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.executor = executor;
+        this.transactionManager = transactionManager;
+        this.environment = environment;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    public CompleteDashboard getCompleteDashboardData() {
+        log.info("CompleteDashboardService : getCompleteDashboardData() : Fetching dashboard sections");
+
+        CompletableFuture<SalesOverview> overview = submit("overview", () -> dashboardService.getSalesOverview(null));
+
+        List<String> degraded = new ArrayList<>();
+        CompleteDashboard completeData = new CompleteDashboard(
+                inline("stats", dashboardSnapshot::getDashboardStats, degraded),
+                inline("counts", dashboardSnapshot::getDashboardCounts, degraded),
+                inline("topPerformers", dashboardSnapshot::getTopPerformers, degraded),
+                inline("recentSales", dashboardSnapshot::getRecentSales, degraded),
+                inline("performance", dashboardSnapshot::getEmployeePerformance, degraded),
+                join("overview", overview, degraded),
+                degraded);
+
+        if (!degraded.isEmpty()) {
+            log.warn("Complete dashboard returned with degraded sections: {}", degraded);
+        }
+        return completeData;
+    }
+
+    private static <T> T inline(String name, Supplier<T> supplier, List<String> degraded) {
+        try {
+            T value = supplier.get();
+            if (value != null) {
+                return value;
+            }
+        } catch (RuntimeException e) {
+            log.error("Dashboard section {} degraded: {}", name, e.toString());
+        }
+        degraded.add(name);
+        return null;
+    }
+
+    private static <T> T join(String name, CompletableFuture<T> future, List<String> degraded) {
+        T value = future.join();
+        if (value == null) {
+            degraded.add(name);
+        }
+        return value;
+    }
+
+    private <T> CompletableFuture<T> submit(String name, Supplier<T> supplier) {
+        long timeoutMs = environment.getProperty("dashboard.section-timeout-ms." + name, Long.class, defaultTimeoutMs);
+        // Transaction timeouts are whole seconds; Spring applies the remainder as each query's timeout
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> transaction.execute(status -> supplier.get()), executor);
+        } catch (RuntimeException e) {
+            log.error("Dashboard section {} rejected by executor: {}", name, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return future
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    log.error("Dashboard section {} degraded: {}", name, ex.toString());
+                    return null;
+                });
+    }
+}
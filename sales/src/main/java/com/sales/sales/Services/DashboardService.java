@@ -1,354 +1,124 @@
 package com.sales.sales.Services;
 
-import com.sales.sales.Entity.Employee;
 import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final EmployeeRepository employeeRepository;
-
-    public Map<String, Object> getDashboardStats() {
-        log.info("DashboardService : getDashboardStats() : Fetching dashboard statistics from database");
-
-        Map<String, Object> stats = new HashMap<>();
-
-        try {
-            // Get employee counts and metrics directly from database
-            Long totalEmployees = employeeRepository.count();
-            Long employeesMeetingTarget = employeeRepository.countByAchievedGreaterThanEqualMonthlyTarget();
-            Integer totalMonthlyTarget = employeeRepository.getTotalMonthlyTarget();
-            Integer totalAchieved = employeeRepository.getTotalAchieved();
-            Integer totalCallsMade = employeeRepository.getTotalCallsMade();
-
-            // Calculate percentages
-            double meetTargetPercentage = totalEmployees > 0 ?
-                    (employeesMeetingTarget.doubleValue() / totalEmployees.doubleValue()) * 100 : 0;
+    private static final int RECENT_SALES_LIMIT = 15;
 
-            // Set stats with actual database values
-            stats.put("employeeCount", totalEmployees != null ? totalEmployees : 0);
-            stats.put("meetTarget", Math.round(meetTargetPercentage));
-            stats.put("salesTarget", totalMonthlyTarget != null ? totalMonthlyTarget : 0);
-            stats.put("salesAchieved", totalAchieved != null ? totalAchieved : 0);
-            stats.put("totalCalls", totalCallsMade != null ? totalCallsMade : 0);
-
-            log.info("Dashboard stats calculated from database - Employees: {}, Meet Target: {}%, Sales Target: {}, Sales Achieved: {}",
-                    stats.get("employeeCount"), stats.get("meetTarget"), stats.get("salesTarget"), stats.get("salesAchieved"));
-
-        } catch (Exception e) {
-            log.error("Error fetching dashboard stats from database: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch dashboard statistics from database", e);
-        }
-
-        return stats;
-    }
-
-    public Map<String, Object> getSalesOverview() {
-        log.info("DashboardService : getSalesOverview() : Generating sales overview from employee data");
+    private final EmployeeRepository employeeRepository;
+    private final SalesService salesService;
 
-        Map<String, Object> overview = new HashMap<>();
+    public SalesOverview getSalesOverview(String department) {
+        log.info("DashboardService : getSalesOverview() : Reading sales overview from the monthly rollup");
 
         try {
-            // Get actual sales data from employees
-            List<Employee> employees = employeeRepository.findAll();
-
-            if (employees.isEmpty()) {
-                log.warn("No employees found in database for sales overview");
-                overview.put("labels", Arrays.asList("Jan", "Feb", "Mar", "Apr", "May", "Jun"));
-                overview.put("data", Arrays.asList(0, 0, 0, 0, 0, 0));
-                return overview;
+            List<SalesService.MonthlyTotals> months = salesService.getMonthlyTotals(12, department);
+
+            List<String> labels = new ArrayList<>(months.size());
+            List<Integer> monthlySales = new ArrayList<>(months.size());
+            long totalSales = 0;
+            for (SalesService.MonthlyTotals month : months) {
+                labels.add(month.label());
+                monthlySales.add(month.achieved());
+                totalSales += month.achieved();
             }
 
-            // Generate monthly data based on actual employee performance
-            List<String> months = Arrays.asList("Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec");
-            List<Integer> monthlySales = generateSalesDataFromEmployees(employees);
-
-            overview.put("labels", months);
-            overview.put("data", monthlySales);
-            overview.put("totalSales", monthlySales.stream().mapToInt(Integer::intValue).sum());
-
-            log.info("Generated sales overview from {} employees with {} months data", employees.size(), monthlySales.size());
+            log.info("Sales overview built from {} rollup months", months.size());
+            return new SalesOverview(labels, monthlySales, totalSales);
 
         } catch (Exception e) {
             log.error("Error generating sales overview from database: {}", e.getMessage());
             throw new RuntimeException("Failed to generate sales overview from database", e);
         }
-
-        return overview;
     }
 
-    public List<Map<String, Object>> getRecentSales() {
+    public List<RecentSale> getRecentSales() {
         log.info("DashboardService : getRecentSales() : Fetching recent sales data from database");
 
-        List<Map<String, Object>> recentSales = new ArrayList<>();
-
         try {
-            List<Employee> employees = employeeRepository.findAll();
+            // Ranked and limited by the database, only the returned rows are materialised
+            List<AchievementRateView> rows = employeeRepository.findTopByAchievementRate(PageRequest.of(0, RECENT_SALES_LIMIT));
 
-            if (employees.isEmpty()) {
+            if (rows.isEmpty()) {
                 log.warn("No employees found in database for recent sales");
-                return recentSales; // Return empty list
+                return List.of();
             }
 
-            for (Employee employee : employees) {
-                Map<String, Object> sale = new HashMap<>();
-
-                // Calculate achievement rate safely
-                double achievementRate = 0;
-                if (employee.getMonthlyTarget() != null && employee.getMonthlyTarget() > 0) {
-                    achievementRate = (employee.getAchieved().doubleValue() / employee.getMonthlyTarget()) * 100;
-                }
-
-                sale.put("employeeName", employee.getEmpName() != null ? employee.getEmpName() : "Unknown");
-                sale.put("employeeCode", employee.getEmpCode() != null ? employee.getEmpCode() : "N/A");
-                sale.put("salesTarget", employee.getMonthlyTarget() != null ? employee.getMonthlyTarget() : 0);
-                sale.put("salesAchieved", employee.getAchieved() != null ? employee.getAchieved() : 0);
-                sale.put("achievementRate", Math.round(achievementRate));
-
-                recentSales.add(sale);
+            List<RecentSale> recentSales = new ArrayList<>(rows.size());
+            for (AchievementRateView row : rows) {
+                recentSales.add(new RecentSale(
+                        row.getEmpName() != null ? row.getEmpName() : "Unknown",
+                        row.getEmpCode() != null ? row.getEmpCode() : "N/A",
+                        row.getMonthlyTarget(),
+                        row.getAchieved(),
+                        Math.round(row.getAchievementRate())));
             }
 
-            // FIXED: Properly handle number types in sorting
-            recentSales.sort((a, b) -> {
-                Number achievementRateA = (Number) a.get("achievementRate");
-                Number achievementRateB = (Number) b.get("achievementRate");
-
-                double rateA = achievementRateA != null ? achievementRateA.doubleValue() : 0.0;
-                double rateB = achievementRateB != null ? achievementRateB.doubleValue() : 0.0;
-
-                return Double.compare(rateB, rateA); // Descending order
-            });
-
-            recentSales = recentSales.stream().limit(15).collect(Collectors.toList());
-
             log.info("Processed {} recent sales records from database", recentSales.size());
+            return recentSales;
 
         } catch (Exception e) {
             log.error("Error fetching recent sales from database: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to fetch recent sales from database", e);
         }
-
-        return recentSales;
     }
 
-    public List<Map<String, Object>> getTopPerformers() {
-        log.info("DashboardService : getTopPerformers() : Fetching top performers from database");
-
-        List<Map<String, Object>> topPerformers = new ArrayList<>();
-
-        try {
-            List<Employee> employees = employeeRepository.findAll();
-
-            if (employees.isEmpty()) {
-                log.warn("No employees found in database for top performers");
-                return topPerformers; // Return empty list
-            }
-
-            // Calculate performance score for each employee
-            List<Map<String, Object>> performersWithScores = new ArrayList<>();
-
-            for (Employee employee : employees) {
-                Map<String, Object> performer = new HashMap<>();
-                double performanceScore = calculatePerformanceScore(employee);
-
-                performer.put("employeeName", employee.getEmpName() != null ? employee.getEmpName() : "Unknown");
-                performer.put("employeeCode", employee.getEmpCode() != null ? employee.getEmpCode() : "N/A");
-                performer.put("performanceScore", Math.round(performanceScore * 10.0) / 10.0);
-                performer.put("achieved", employee.getAchieved() != null ? employee.getAchieved() : 0);
-                performer.put("target", employee.getMonthlyTarget() != null ? employee.getMonthlyTarget() : 0);
-
-                double achievementRate = 0;
-                if (employee.getMonthlyTarget() != null && employee.getMonthlyTarget() > 0) {
-                    achievementRate = (employee.getAchieved().doubleValue() / employee.getMonthlyTarget()) * 100;
-                }
-                performer.put("achievementRate", Math.round(achievementRate));
-
-                performersWithScores.add(performer);
-            }
-
-            // FIXED: Properly handle number types in sorting
-            performersWithScores.sort((a, b) -> {
-                Number scoreA = (Number) a.get("performanceScore");
-                Number scoreB = (Number) b.get("performanceScore");
-
-                double performanceA = scoreA != null ? scoreA.doubleValue() : 0.0;
-                double performanceB = scoreB != null ? scoreB.doubleValue() : 0.0;
-
-                return Double.compare(performanceB, performanceA); // Descending order
-            });
-
-            topPerformers = performersWithScores.stream()
-                    .limit(10)
-                    .collect(Collectors.toList());
-
-            log.info("Found {} top performers from database", topPerformers.size());
-
-        } catch (Exception e) {
-            log.error("Error fetching top performers from database: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch top performers from database", e);
-        }
-
-        return topPerformers;
-    }
-
-    public Map<String, Object> getEmployeePerformance() {
+    public EmployeePerformanceSummary getEmployeePerformance() {
         log.info("DashboardService : getEmployeePerformance() : Fetching employee performance analytics from database");
 
-        Map<String, Object> performance = new HashMap<>();
-
         try {
-            List<Employee> allEmployees = employeeRepository.findAll();
+            // Grouped by the database, one row per department and per department and team
+            List<GroupPerformanceView> departmentRows = employeeRepository.getDepartmentWisePerformance();
 
-            if (allEmployees.isEmpty()) {
+            if (departmentRows.isEmpty()) {
                 log.warn("No employees found in database for performance analytics");
-                performance.put("departmentWise", new HashMap<>());
-                performance.put("totalEmployees", 0);
-                performance.put("averageAchievement", 0);
-                return performance;
+                return new EmployeePerformanceSummary(Map.of(), Map.of(), 0, 0);
             }
 
-            // Department-wise performance
-            Map<String, Map<String, Object>> deptPerformance = new HashMap<>();
-
-            for (Employee emp : allEmployees) {
-                String dept = emp.getDepartment() != null ? emp.getDepartment() : "Unknown";
-                deptPerformance.putIfAbsent(dept, new HashMap<>());
-
-                Map<String, Object> deptStats = deptPerformance.get(dept);
-                deptStats.put("employeeCount", (Integer) deptStats.getOrDefault("employeeCount", 0) + 1);
-                deptStats.put("totalTarget", (Integer) deptStats.getOrDefault("totalTarget", 0) +
-                        (emp.getMonthlyTarget() != null ? emp.getMonthlyTarget() : 0));
-                deptStats.put("totalAchieved", (Integer) deptStats.getOrDefault("totalAchieved", 0) +
-                        (emp.getAchieved() != null ? emp.getAchieved() : 0));
+            Map<String, DepartmentPerformance> deptPerformance = new HashMap<>(departmentRows.size() * 2);
+            long totalEmployees = 0;
+            long ratedEmployees = 0;
+            double weightedAchievement = 0;
+            for (GroupPerformanceView row : departmentRows) {
+                deptPerformance.put(row.getDepartment(), toPerformance(row));
+                totalEmployees += row.getEmployeeCount();
+                // Department averages weighted by their rated employees give the overall average
+                if (row.getAverageAchievement() != null) {
+                    ratedEmployees += row.getRatedEmployees();
+                    weightedAchievement += row.getAverageAchievement() * row.getRatedEmployees();
+                }
             }
 
-            // Calculate department percentages
-            for (Map.Entry<String, Map<String, Object>> entry : deptPerformance.entrySet()) {
-                Map<String, Object> deptStats = entry.getValue();
-                int totalTarget = (Integer) deptStats.get("totalTarget");
-                int totalAchieved = (Integer) deptStats.get("totalAchieved");
-                double achievementRate = totalTarget > 0 ? (totalAchieved * 100.0) / totalTarget : 0;
-                deptStats.put("achievementRate", Math.round(achievementRate));
+            Map<String, Map<String, DepartmentPerformance>> teamPerformance = new HashMap<>(departmentRows.size() * 2);
+            for (GroupPerformanceView row : employeeRepository.getTeamWisePerformance()) {
+                teamPerformance.computeIfAbsent(row.getDepartment(), d -> new HashMap<>())
+                        .put(row.getTeam(), toPerformance(row));
             }
 
-            performance.put("departmentWise", deptPerformance);
-            performance.put("totalEmployees", allEmployees.size());
-            performance.put("averageAchievement", calculateAverageAchievement(allEmployees));
+            long averageAchievement = ratedEmployees > 0 ? Math.round(weightedAchievement / ratedEmployees) : 0;
 
             log.info("Generated performance analytics for {} employees across {} departments",
-                    allEmployees.size(), deptPerformance.size());
+                    totalEmployees, deptPerformance.size());
+            return new EmployeePerformanceSummary(deptPerformance, teamPerformance, totalEmployees, averageAchievement);
 
         } catch (Exception e) {
             log.error("Error fetching employee performance from database: {}", e.getMessage());
             throw new RuntimeException("Failed to fetch employee performance from database", e);
         }
-
-        return performance;
     }
 
-    private double calculatePerformanceScore(Employee employee) {
-        if (employee == null) return 0;
-
-        double achievementWeight = 0.6;
-        double callsWeight = 0.3;
-        double meetTargetWeight = 0.1;
-
-        double achievementScore = 0;
-        if (employee.getMonthlyTarget() != null && employee.getMonthlyTarget() > 0) {
-            achievementScore = (employee.getAchieved().doubleValue() / employee.getMonthlyTarget()) * 100;
-        }
-
-        double callsScore = 0;
-        if (employee.getCallsMade() != null) {
-            callsScore = Math.min((employee.getCallsMade().doubleValue() / 200) * 100, 100);
-        }
-
-        double meetTargetScore = employee.getMeetTarget() != null ? employee.getMeetTarget().doubleValue() : 0;
-
-        return (achievementScore * achievementWeight) +
-                (callsScore * callsWeight) +
-                (meetTargetScore * meetTargetWeight);
-    }
-
-    private double calculateAverageAchievement(List<Employee> employees) {
-        if (employees.isEmpty()) return 0;
-
-        double totalAchievement = 0;
-        int count = 0;
-
-        for (Employee emp : employees) {
-            if (emp.getMonthlyTarget() != null && emp.getMonthlyTarget() > 0) {
-                double achievement = (emp.getAchieved().doubleValue() / emp.getMonthlyTarget()) * 100;
-                totalAchievement += achievement;
-                count++;
-            }
-        }
-
-        return count > 0 ? Math.round(totalAchievement / count) : 0;
-    }
-
-    private List<Integer> generateSalesDataFromEmployees(List<Employee> employees) {
-        List<Integer> monthlySales = new ArrayList<>();
-        Random random = new Random();
-
-        // Calculate base sales from actual employee data
-        int totalAchieved = employees.stream()
-                .mapToInt(emp -> emp.getAchieved() != null ? emp.getAchieved() : 0)
-                .sum();
-
-        int baseSales = employees.isEmpty() ? 0 : totalAchieved / employees.size();
-
-        // Generate realistic monthly variation based on actual data
-        for (int i = 0; i < 12; i++) {
-            int variation = random.nextInt(5000) - 2500; // ±2500 variation
-            int monthlySale = Math.max(baseSales + variation, 0); // Ensure non-negative
-            monthlySales.add(monthlySale);
-        }
-
-        return monthlySales;
-    }
-
-    public Map<String, Object> getDashboardCounts() {
-        log.info("DashboardService : getDashboardCounts() : Fetching dashboard counts");
-
-        Map<String, Object> counts = new HashMap<>();
-
-        try {
-            // Get total users (employees)
-            Long totalUsers = employeeRepository.count();
-
-            // Get total sales achieved
-            Integer totalSales = employeeRepository.getTotalAchieved();
-            if (totalSales == null) {
-                totalSales = 0;
-            }
-
-            // Get total revenue (assuming revenue equals sales achieved)
-            Integer totalRevenue = totalSales;
-
-            // Set counts to response
-            counts.put("totalUsers", totalUsers != null ? totalUsers : 0);
-            counts.put("totalSales", totalSales);
-            counts.put("totalRevenue", totalRevenue);
-            counts.put("totalProducts", 0); // Placeholder - adjust if you have products
-            counts.put("totalOrders", 0);   // Placeholder - adjust if you have orders
-
-            log.info("Dashboard counts: Users={}, Sales={}, Revenue={}", 
-                    counts.get("totalUsers"), counts.get("totalSales"), counts.get("totalRevenue"));
-
-        } catch (Exception e) {
-            log.error("Error fetching dashboard counts: {}", e.getMessage());
-            throw new RuntimeException("Failed to fetch dashboard counts", e);
-        }
-
-        return counts;
+    private static DepartmentPerformance toPerformance(GroupPerformanceView row) {
+        return DepartmentPerformance.of(row.getEmployeeCount(), row.getTotalTarget(), row.getTotalAchieved());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,308 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.dto.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * In-memory dashboard snapshot.
+ *
+ * The snapshot is loaded from the database once, on first read, and is then kept current by
+ * {@link EmployeeService} which reports every employee row it writes. Totals and department
+ * figures are adjusted by the difference between the old and new row, and the ranked lists are
+ * re-derived from the in-memory rows, so dashboard reads never touch the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotService {
+
+    private static final int TOP_PERFORMERS_LIMIT = 10;
+    private static final int RECENT_SALES_LIMIT = 15;
+
+    private final EmployeeRepository employeeRepository;
+
+    // Guarded by "this"
+    private final Map<String, EmployeeRow> rows = new HashMap<>();
+    private final Map<String, DepartmentTotals> departments = new HashMap<>();
+    private final Map<String, Map<String, DepartmentTotals>> teams = new HashMap<>();
+    private long totalTarget;
+    private long totalAchieved;
+    private long totalCalls;
+    private long employeesMeetingTarget;
+    private double achievementRateSum;
+    private long employeesWithTarget;
+    private boolean loaded;
+
+    private volatile Snapshot snapshot;
+
+    public DashboardStats getDashboardStats() {
+        return current().stats();
+    }
+
+    public DashboardCounts getDashboardCounts() {
+        return current().counts();
+    }
+
+    public List<TopPerformer> getTopPerformers() {
+        return current().topPerformers();
+    }
+
+    public List<RecentSale> getRecentSales() {
+        return current().recentSales();
+    }
+
+    public EmployeePerformanceSummary getEmployeePerformance() {
+        return current().performance();
+    }
+
+    public synchronized void onEmployeeSaved(Employee employee) {
+        if (!loaded || employee == null || employee.getEmpId() == null) {
+            return;
+        }
+        replace(employee);
+        publish();
+    }
+
+    // Bulk variant for imports: applies every row, then publishes once
+    public synchronized void onEmployeesSaved(Collection<Employee> employees) {
+        if (!loaded || employees.isEmpty()) {
+            return;
+        }
+        for (Employee employee : employees) {
+            if (employee.getEmpId() == null) {
+                continue;
+            }
+            replace(employee);
+        }
+        publish();
+    }
+
+    // The saved entity's counters may predate increments flushed since it was loaded, so a row
+    // already in the snapshot keeps its own: onCountersIncremented is their only writer
+    private void replace(Employee employee) {
+        EmployeeRow updated = EmployeeRow.of(employee);
+        EmployeeRow previous = rows.get(employee.getEmpId());
+        if (previous != null) {
+            updated = updated.withCounters(previous);
+            apply(previous, -1);
+        }
+        rows.put(updated.empId(), updated);
+        apply(updated, 1);
+    }
+
+    public synchronized void onEmployeeDeleted(String empId) {
+        if (!loaded) {
+            return;
+        }
+        EmployeeRow previous = rows.remove(empId);
+        if (previous != null) {
+            apply(previous, -1);
+            publish();
+        }
+    }
+
+    // Counter increments flushed by EmployeeCounterService: applies them all, then publishes once
+    public synchronized void onCountersIncremented(Map<String, EmployeeCounterService.Increment> increments) {
+        if (!loaded || increments.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, EmployeeCounterService.Increment> entry : increments.entrySet()) {
+            EmployeeRow previous = rows.get(entry.getKey());
+            if (previous == null) {
+                continue;
+            }
+            EmployeeRow updated = previous.plus(entry.getValue().calls(), entry.getValue().achieved());
+            rows.put(entry.getKey(), updated);
+            apply(previous, -1);
+            apply(updated, 1);
+        }
+        publish();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                load();
+            }
+            return snapshot;
+        }
+    }
+
+    private void load() {
+        log.info("DashboardSnapshotService : load() : Building dashboard snapshot from database");
+        for (Employee employee : employeeRepository.findAll()) {
+            EmployeeRow row = EmployeeRow.of(employee);
+            rows.put(row.empId(), row);
+            apply(row, 1);
+        }
+        loaded = true;
+        publish();
+        log.info("Dashboard snapshot built from {} employees across {} departments", rows.size(), departments.size());
+    }
+
+    private void apply(EmployeeRow row, int sign) {
+        totalTarget += sign * (long) row.monthlyTarget();
+        totalAchieved += sign * (long) row.achieved();
+        totalCalls += sign * (long) row.callsMade();
+        if (row.meetsTarget()) {
+            employeesMeetingTarget += sign;
+        }
+        if (row.monthlyTarget() > 0) {
+            achievementRateSum += sign * row.achievementRate();
+            employeesWithTarget += sign;
+        }
+
+        if (departments.computeIfAbsent(row.department(), d -> new DepartmentTotals()).add(row, sign)) {
+            departments.remove(row.department());
+        }
+        Map<String, DepartmentTotals> departmentTeams = teams.computeIfAbsent(row.department(), d -> new HashMap<>());
+        if (departmentTeams.computeIfAbsent(row.team(), t -> new DepartmentTotals()).add(row, sign)) {
+            departmentTeams.remove(row.team());
+            if (departmentTeams.isEmpty()) {
+                teams.remove(row.department());
+            }
+        }
+    }
+
+    private void publish() {
+        snapshot = new Snapshot(buildStats(), buildCounts(),
+                rank(Comparator.comparingDouble(EmployeeRow::performanceScore), TOP_PERFORMERS_LIMIT, EmployeeRow::toTopPerformer),
+                rank(Comparator.comparingDouble(EmployeeRow::achievementRate), RECENT_SALES_LIMIT, EmployeeRow::toRecentSale),
+                buildPerformance());
+    }
+
+    private DashboardStats buildStats() {
+        long employeeCount = rows.size();
+        double meetTargetPercentage = employeeCount > 0 ? (employeesMeetingTarget * 100.0) / employeeCount : 0;
+        return new DashboardStats(employeeCount, Math.round(meetTargetPercentage), totalTarget, totalAchieved, totalCalls);
+    }
+
+    private DashboardCounts buildCounts() {
+        return new DashboardCounts(rows.size(), totalAchieved, totalAchieved, 0, 0);
+    }
+
+    private EmployeePerformanceSummary buildPerformance() {
+        Map<String, DepartmentPerformance> departmentWise = new HashMap<>(departments.size() * 2);
+        departments.forEach((name, totals) ->
+                departmentWise.put(name, DepartmentPerformance.of(totals.employeeCount, totals.totalTarget, totals.totalAchieved)));
+
+        Map<String, Map<String, DepartmentPerformance>> teamWise = new HashMap<>(teams.size() * 2);
+        teams.forEach((department, departmentTeams) -> {
+            Map<String, DepartmentPerformance> byTeam = new HashMap<>(departmentTeams.size() * 2);
+            departmentTeams.forEach((team, totals) ->
+                    byTeam.put(team, DepartmentPerformance.of(totals.employeeCount, totals.totalTarget, totals.totalAchieved)));
+            teamWise.put(department, Collections.unmodifiableMap(byTeam));
+        });
+
+        long averageAchievement = employeesWithTarget > 0 ? Math.round(achievementRateSum / employeesWithTarget) : 0;
+        return new EmployeePerformanceSummary(Collections.unmodifiableMap(departmentWise), Collections.unmodifiableMap(teamWise),
+                rows.size(), averageAchievement);
+    }
+
+    /**
+     * Keeps the {@code limit} highest rows by {@code order} in a min-heap, so ranking costs
+     * O(n log limit) instead of a full sort.
+     */
+    private <T> List<T> rank(Comparator<EmployeeRow> order, int limit, Function<EmployeeRow, T> mapper) {
+        PriorityQueue<EmployeeRow> heap = new PriorityQueue<>(limit + 1, order);
+        for (EmployeeRow row : rows.values()) {
+            heap.offer(row);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<EmployeeRow> ranked = new ArrayList<>(heap);
+        ranked.sort(order.reversed());
+
+        List<T> result = new ArrayList<>(ranked.size());
+        for (EmployeeRow row : ranked) {
+            result.add(mapper.apply(row));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private record Snapshot(DashboardStats stats,
+                            DashboardCounts counts,
+                            List<TopPerformer> topPerformers,
+                            List<RecentSale> recentSales,
+                            EmployeePerformanceSummary performance) {
+    }
+
+    private static final class DepartmentTotals {
+        private int employeeCount;
+        private long totalTarget;
+        private long totalAchieved;
+
+        // Returns true once the group is empty and can be dropped
+        boolean add(EmployeeRow row, int sign) {
+            employeeCount += sign;
+            totalTarget += sign * (long) row.monthlyTarget();
+            totalAchieved += sign * (long) row.achieved();
+            return employeeCount == 0;
+        }
+    }
+
+    /**
+     * Detached copy of the employee columns the dashboard needs. Performance score =
+     * achievement rate * 0.6 + min(callsMade / 200 * 100, 100) * 0.3 + meetTarget * 0.1.
+     */
+    private record EmployeeRow(String empId, String empName, String empCode, String department, String team,
+                               int monthlyTarget, int achieved, int callsMade, int meetTarget) {
+
+        static EmployeeRow of(Employee employee) {
+            return new EmployeeRow(
+                    employee.getEmpId(),
+                    employee.getEmpName() != null ? employee.getEmpName() : "Unknown",
+                    employee.getEmpCode() != null ? employee.getEmpCode() : "N/A",
+                    employee.getDepartment() != null ? employee.getDepartment() : "Unknown",
+                    employee.getTeam() != null ? employee.getTeam() : "Unknown",
+                    employee.getMonthlyTarget() != null ? employee.getMonthlyTarget() : 0,
+                    employee.getAchieved() != null ? employee.getAchieved() : 0,
+                    employee.getCallsMade() != null ? employee.getCallsMade() : 0,
+                    employee.getMeetTarget() != null ? employee.getMeetTarget() : 0);
+        }
+
+        EmployeeRow withCounters(EmployeeRow from) {
+            return new EmployeeRow(empId, empName, empCode, department, team, monthlyTarget,
+                    from.achieved, from.callsMade, meetTarget);
+        }
+
+        EmployeeRow plus(int calls, int achievedDelta) {
+            return new EmployeeRow(empId, empName, empCode, department, team, monthlyTarget,
+                    achieved + achievedDelta, callsMade + calls, meetTarget);
+        }
+
+        boolean meetsTarget() {
+            return achieved >= monthlyTarget;
+        }
+
+        double achievementRate() {
+            return monthlyTarget > 0 ? ((double) achieved / monthlyTarget) * 100 : 0;
+        }
+
+        double performanceScore() {
+            double callsScore = Math.min((callsMade / 200.0) * 100, 100);
+            return (achievementRate() * 0.6) + (callsScore * 0.3) + (meetTarget * 0.1);
+        }
+
+        TopPerformer toTopPerformer() {
+            return new TopPerformer(empName, empCode, Math.round(performanceScore() * 10.0) / 10.0,
+                    achieved, monthlyTarget, Math.round(achievementRate()));
+        }
+
+        RecentSale toRecentSale() {
+            return new RecentSale(empName, empCode, monthlyTarget, achieved, Math.round(achievementRate()));
+        }
+    }
+}
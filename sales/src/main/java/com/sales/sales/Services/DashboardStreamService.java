@@ -0,0 +1,239 @@
+package com.sales.sales.Services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.sales.dto.TopPerformer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes dashboard deltas to server-sent-event subscribers.
+ *
+ * Writes only bump the data versions; a fixed-interval tick compares them with the versions it
+ * last published, so any burst of writes within one interval results in at most one delta. The
+ * delta holds only the stats and counts fields that changed, plus the leaderboard when its
+ * content changed. Emitters are async requests, so idle subscribers do not hold a thread.
+ *
+ * A new subscriber's snapshot is the published state: subscribing first publishes any pending
+ * changes to the existing subscribers, then queues the snapshot and registers the subscriber under
+ * the same lock as the tick, so every delta it receives follows its snapshot and is relative to it.
+ *
+ * The scheduled jobs only queue events. Each subscriber's queue is drained on the
+ * dashboardStreamExecutor, one drain at a time so its events stay in order, which keeps a slow
+ * client's blocking writes off the shared scheduler thread. A subscriber that falls more than
+ * MAX_PENDING events behind is disconnected; on reconnect it gets a fresh snapshot.
+ */
+@Slf4j
+@Service
+public class DashboardStreamService {
+
+    private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<>() {
+    };
+    private static final int MAX_PENDING = 16;
+
+    private final DashboardSnapshotService dashboardSnapshot;
+    private final DataVersionService dataVersions;
+    private final ObjectMapper objectMapper;
+    private final Executor sender;
+    private final long emitterTimeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Guarded by this: the scheduler's ticks and subscribe() both publish
+    private long publishedVersion = -1;
+    private Map<String, Object> publishedStats = Map.of();
+    private Map<String, Object> publishedCounts = Map.of();
+    private List<TopPerformer> publishedLeaderboard = List.of();
+
+    public DashboardStreamService(DashboardSnapshotService dashboardSnapshot,
+                                  DataVersionService dataVersions,
+                                  ObjectMapper objectMapper,
+                                  @Qualifier("dashboardStreamExecutor") Executor sender,
+                                  @Value("${dashboard.stream.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.dataVersions = dataVersions;
+        this.objectMapper = objectMapper;
+        this.sender = sender;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            publish();
+            Map<String, Object> initial = new LinkedHashMap<>();
+            initial.put("stats", publishedStats);
+            initial.put("counts", publishedCounts);
+            initial.put("leaderboard", publishedLeaderboard);
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(initial);
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+            subscribers.add(subscriber);
+            subscriber.enqueue(SseEmitter.event().name("snapshot").data(json, MediaType.APPLICATION_JSON));
+        }
+        log.info("DashboardStreamService : subscribe() : {} dashboard subscribers", subscribers.size());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.interval-ms:2000}")
+    public synchronized void publishDelta() {
+        if (subscribers.isEmpty() || currentVersion() == publishedVersion) {
+            return;
+        }
+        publish();
+    }
+
+    // Broadcasts what changed since the last publish and makes the current state the published one
+    private void publish() {
+        long version = currentVersion();
+
+        Map<String, Object> stats = objectMapper.convertValue(dashboardSnapshot.getDashboardStats(), FIELDS);
+        Map<String, Object> counts = objectMapper.convertValue(dashboardSnapshot.getDashboardCounts(), FIELDS);
+        List<TopPerformer> leaderboard = dashboardSnapshot.getTopPerformers();
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        putIfNotEmpty(delta, "stats", changedFields(publishedStats, stats));
+        putIfNotEmpty(delta, "counts", changedFields(publishedCounts, counts));
+        if (!leaderboard.equals(publishedLeaderboard)) {
+            delta.put("leaderboard", leaderboard);
+        }
+
+        publishedVersion = version;
+        publishedStats = stats;
+        publishedCounts = counts;
+        publishedLeaderboard = leaderboard;
+
+        if (!delta.isEmpty()) {
+            broadcast("delta", delta);
+        }
+    }
+
+    private long currentVersion() {
+        return dataVersions.current(DataVersionService.Aggregate.EMPLOYEES)
+                + dataVersions.current(DataVersionService.Aggregate.CALLS)
+                + dataVersions.current(DataVersionService.Aggregate.LEADS);
+    }
+
+    // Lets proxies and clients drop dead connections
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    private void broadcast(String name, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (IOException e) {
+            log.error("Error serialising dashboard delta: {}", e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON));
+        }
+        log.debug("Dashboard delta queued for {} subscribers", subscribers.size());
+    }
+
+    private static Map<String, Object> changedFields(Map<String, Object> previous, Map<String, Object> current) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        current.forEach((field, value) -> {
+            if (!Objects.equals(previous.get(field), value)) {
+                changed.put(field, value);
+            }
+        });
+        return changed;
+    }
+
+    private static void putIfNotEmpty(Map<String, Object> delta, String key, Map<String, Object> fields) {
+        if (!fields.isEmpty()) {
+            delta.put(key, fields);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (pending.size() >= MAX_PENDING) {
+                log.info("DashboardStreamService : enqueue() : Disconnecting a subscriber {} events behind", pending.size());
+                disconnect(null);
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Retried with the next event
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty() && subscribers.contains(this)) {
+                scheduleDrain();
+            }
+        }
+
+        private void disconnect(Exception cause) {
+            subscribers.remove(this);
+            pending.clear();
+            try {
+                if (cause != null) {
+                    emitter.completeWithError(cause);
+                } else {
+                    emitter.complete();
+                }
+            } catch (IllegalStateException ignored) {
+                // Already completed
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sales.sales.Services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-aggregate data versions, bumped by the service write paths and used to build ETags for
+ * read endpoints. The epoch is unique per process so a restart or a different node can never
+ * answer 304 for a version it did not issue.
+ * <p>
+ * The versions are held in memory and only see this process's writes, so the ETags assume a
+ * single application node: behind a load balancer another node's writes would leave this node's
+ * tags unchanged and it would keep answering 304 on stale data. Multi-node deployments set
+ * data-version.etags.enabled=false.
+ */
+@Slf4j
+@Service
+public class DataVersionService {
+
+    public enum Aggregate {
+        EMPLOYEES, CALLS, LEADS, PROJECTS
+    }
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+
+    public DataVersionService() {
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong());
+        }
+    }
+
+    /**
+     * Bumps the version once the current transaction commits (immediately when there is none),
+     * so a reader can never see the new version together with the old data.
+     */
+    public void bump(Aggregate aggregate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.get(aggregate).incrementAndGet();
+                }
+            });
+        } else {
+            versions.get(aggregate).incrementAndGet();
+        }
+    }
+
+    public long current(Aggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+
+    public String etag(Aggregate aggregate) {
+        return "\"" + epoch + "-" + aggregate.name().toLowerCase() + "-" + current(aggregate) + "\"";
+    }
+
+    // Tag for data that also changes with something other than the aggregate's writes, e.g. the month
+    public String etag(Aggregate aggregate, String qualifier) {
+        return "\"" + epoch + "-" + aggregate.name().toLowerCase() + "-" + current(aggregate) + "-" + qualifier + "\"";
+    }
+}
@@ -0,0 +1,104 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Repositories.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for the employee callsMade and achieved counters.
+ *
+ * Call and lead write paths record increments here instead of saving the employee. Increments for
+ * the same employee are merged in memory, and every flush applies one relative
+ * {@code UPDATE ... SET calls_made = calls_made + ?} per employee, so a burst of calls for a hot
+ * employee costs one row lock per flush rather than one per call, and concurrent writers never
+ * overwrite each other's counts.
+ *
+ * A flush runs in a single transaction, in empId order so that overlapping transactions lock rows
+ * in the same order. If it fails the increments go back into the buffer for the next flush.
+ * Reads may trail writes by up to employee.counters.flush-ms.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeCounterService {
+
+    private final EmployeeRepository employeeRepository;
+    private final SalesService salesService;
+    private final DashboardSnapshotService dashboardSnapshot;
+    private final DataVersionService dataVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, Increment> pending = new ConcurrentHashMap<>();
+
+    public void recordCalls(String empId, int calls) {
+        record(empId, new Increment(calls, 0));
+    }
+
+    public void recordAchieved(String empId, int achieved) {
+        record(empId, new Increment(0, achieved));
+    }
+
+    private void record(String empId, Increment increment) {
+        if (empId == null || empId.isBlank() || increment.isZero()) {
+            return;
+        }
+        pending.merge(empId, increment, Increment::plus);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.counters.flush-ms:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Increment> batch = new TreeMap<>();
+        for (String empId : pending.keySet()) {
+            Increment increment = pending.remove(empId);
+            if (increment != null && !increment.isZero()) {
+                batch.put(empId, increment);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((empId, increment) -> {
+                if (employeeRepository.incrementCounters(empId, increment.calls(), increment.achieved()) > 0) {
+                    salesService.addCounters(empId, increment.calls(), increment.achieved());
+                }
+            }));
+        } catch (Exception e) {
+            log.error("Error flushing counters for {} employees, retrying on next flush: {}", batch.size(), e.getMessage());
+            batch.forEach(this::record);
+            return;
+        }
+
+        dashboardSnapshot.onCountersIncremented(batch);
+        dataVersions.bump(DataVersionService.Aggregate.EMPLOYEES);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("EmployeeCounterService : flushOnShutdown() : Flushing {} pending counters", pending.size());
+        flush();
+    }
+
+    public record Increment(int calls, int achieved) {
+
+        Increment plus(Increment other) {
+            return new Increment(calls + other.calls, achieved + other.achieved);
+        }
+
+        boolean isZero() {
+            return calls == 0 && achieved == 0;
+        }
+    }
+}
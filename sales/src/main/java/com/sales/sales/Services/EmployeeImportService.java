@@ -0,0 +1,389 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.dto.EmployeeKeyView;
+import com.sales.sales.dto.ImportReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Bulk employee import from JSON arrays or CSV.
+ *
+ * Rows are validated as {@link EmployeeService#addEmployee} does, then processed in chunks.
+ * Each chunk costs one query for the ids and emails that already exist, one JDBC batch insert
+ * (a single multi-row statement with rewriteBatchedStatements) and one rollup statement,
+ * committed together. A chunk that fails on its data is retried one row per transaction, so only
+ * the offending rows fail. The per-row report says which rows were imported and why the others were not.
+ */
+@Slf4j
+@Service
+public class EmployeeImportService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO employee (emp_id, emp_name, emp_code, role, department, monthly_call_target, monthly_target,
+                                  join_date, achieved, calls_made, meet_target, team, email, password,
+                                  performance_percentage, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    // VARCHAR(255), the default length of the employee string columns
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final EmployeeRepository employeeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardSnapshotService dashboardSnapshot;
+    private final SalesService salesService;
+    private final DataVersionService dataVersions;
+    private final NameSearchService nameSearch;
+    private final int chunkSize;
+
+    public EmployeeImportService(EmployeeRepository employeeRepository, JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate, DashboardSnapshotService dashboardSnapshot,
+                                 SalesService salesService, DataVersionService dataVersions, NameSearchService nameSearch,
+                                 @Value("${employee.import.chunk-size:1000}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.salesService = salesService;
+        this.dataVersions = dataVersions;
+        this.nameSearch = nameSearch;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public ImportReport importEmployees(List<Employee> employees) {
+        log.info("EmployeeImportService : importEmployees() : Importing {} employees", employees.size());
+        ImportReport.RowResult[] results = new ImportReport.RowResult[employees.size()];
+        List<Candidate> candidates = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            validate(i + 1, employees.get(i), candidates, results);
+        }
+        return run(candidates, results);
+    }
+
+    /**
+     * CSV with a header row naming Employee fields (the same columns as the CSV export);
+     * unknown columns are ignored.
+     */
+    public ImportReport importCsv(String csv) {
+        List<List<String>> records = parseCsv(csv);
+        if (records.isEmpty()) {
+            return new ImportReport(0, 0, 0, 0, List.of());
+        }
+        List<String> header = records.get(0);
+        int dataRows = records.size() - 1;
+        log.info("EmployeeImportService : importCsv() : Importing {} CSV rows", dataRows);
+
+        ImportReport.RowResult[] results = new ImportReport.RowResult[dataRows];
+        List<Candidate> candidates = new ArrayList<>(dataRows);
+        for (int i = 0; i < dataRows; i++) {
+            int row = i + 1;
+            Employee employee;
+            try {
+                employee = toEmployee(header, records.get(row));
+            } catch (RuntimeException e) {
+                results[i] = new ImportReport.RowResult(row, null, ImportReport.Status.REJECTED, e.getMessage());
+                continue;
+            }
+            validate(row, employee, candidates, results);
+        }
+        return run(candidates, results);
+    }
+
+    private void validate(int row, Employee emp, List<Candidate> candidates, ImportReport.RowResult[] results) {
+        String problem = null;
+        if (emp == null) {
+            problem = "Row is empty";
+        } else if (emp.getEmpId() == null || emp.getEmpId().trim().isEmpty()) {
+            problem = "Employee ID is required";
+        } else if (emp.getEmpName() == null || emp.getEmpName().trim().isEmpty()) {
+            problem = "Employee name is required";
+        } else if (emp.getEmail() == null || emp.getEmail().trim().isEmpty()) {
+            problem = "Email is required";
+        } else if (tooLong(emp.getEmpId()) || tooLong(emp.getEmpName()) || tooLong(emp.getEmpCode())
+                || tooLong(emp.getEmail()) || tooLong(emp.getPassword()) || tooLong(emp.getRole())
+                || tooLong(emp.getDepartment()) || tooLong(emp.getTeam())) {
+            problem = "Text fields are limited to " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (problem != null) {
+            results[row - 1] = new ImportReport.RowResult(row, emp != null ? emp.getEmpId() : null, ImportReport.Status.REJECTED, problem);
+            return;
+        }
+
+        // Same defaults as addEmployee
+        if (emp.getAchieved() == null) {
+            emp.setAchieved(0);
+        }
+        if (emp.getCallsMade() == null) {
+            emp.setCallsMade(0);
+        }
+        if (emp.getMeetTarget() == null) {
+            emp.setMeetTarget(0);
+        }
+        if (emp.getJoinDate() == null) {
+            emp.setJoinDate(LocalDate.now());
+        }
+        if (emp.getMonthlyCallTarget() == null) {
+            emp.setMonthlyCallTarget(0);
+        }
+        if (emp.getMonthlyTarget() == null) {
+            emp.setMonthlyTarget(0);
+        }
+        candidates.add(new Candidate(row, emp));
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    private ImportReport run(List<Candidate> candidates, ImportReport.RowResult[] results) {
+        // Duplicates inside the input itself; the first occurrence wins. IDs and emails compare
+        // case-insensitively, as the columns' collation does
+        Set<String> seenIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Candidate> unique = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            Employee emp = candidate.employee();
+            if (!seenIds.add(emp.getEmpId().toLowerCase(Locale.ROOT))) {
+                reject(results, candidate, "Employee ID appears more than once in the import: " + emp.getEmpId());
+            } else if (!seenEmails.add(emp.getEmail().toLowerCase(Locale.ROOT))) {
+                reject(results, candidate, "Email appears more than once in the import: " + emp.getEmail());
+            } else {
+                unique.add(candidate);
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < unique.size(); from += chunkSize) {
+            imported += importChunk(unique.subList(from, Math.min(from + chunkSize, unique.size())), results);
+        }
+        if (imported > 0) {
+            dataVersions.bump(DataVersionService.Aggregate.EMPLOYEES);
+        }
+
+        int failed = 0;
+        for (ImportReport.RowResult result : results) {
+            if (result.status() == ImportReport.Status.FAILED) {
+                failed++;
+            }
+        }
+        int rejected = results.length - imported - failed;
+        log.info("Employee import finished - Rows: {}, Imported: {}, Rejected: {}, Failed: {}", results.length, imported, rejected, failed);
+        return new ImportReport(results.length, imported, rejected, failed, Arrays.asList(results));
+    }
+
+    private int importChunk(List<Candidate> chunk, ImportReport.RowResult[] results) {
+        List<String> ids = new ArrayList<>(chunk.size());
+        List<String> emails = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            ids.add(candidate.employee().getEmpId());
+            emails.add(candidate.employee().getEmail());
+        }
+
+        Set<String> existingIds = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        for (EmployeeKeyView key : employeeRepository.findKeysByEmpIdInOrEmailIn(ids, emails)) {
+            existingIds.add(key.getEmpId().toLowerCase(Locale.ROOT));
+            existingEmails.add(key.getEmail().toLowerCase(Locale.ROOT));
+        }
+
+        List<Employee> toInsert = new ArrayList<>(chunk.size());
+        List<Candidate> inserted = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            Employee emp = candidate.employee();
+            if (existingIds.contains(emp.getEmpId().toLowerCase(Locale.ROOT))) {
+                reject(results, candidate, "Employee ID already exists: " + emp.getEmpId());
+            } else if (existingEmails.contains(emp.getEmail().toLowerCase(Locale.ROOT))) {
+                reject(results, candidate, "Email already exists: " + emp.getEmail());
+            } else {
+                // The JDBC insert bypasses the entity callbacks, so derive the column here
+                emp.updatePerformancePercentage();
+                emp.setVersion(0L);
+                toInsert.add(emp);
+                inserted.add(candidate);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            insert(toInsert);
+        } catch (DataAccessException e) {
+            log.error("Error importing employee chunk: {}", e.getMostSpecificCause().getMessage());
+            if (isBadData(e)) {
+                // The whole chunk was rolled back; retrying it would fail on the same row again
+                inserted = importRowByRow(inserted, results);
+            } else {
+                // Lost the connection or a lock; nothing in the chunk was written
+                for (Candidate candidate : inserted) {
+                    fail(results, candidate, "Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+                }
+                return 0;
+            }
+        }
+
+        List<Employee> saved = new ArrayList<>(inserted.size());
+        for (Candidate candidate : inserted) {
+            results[candidate.row() - 1] = new ImportReport.RowResult(candidate.row(), candidate.employee().getEmpId(),
+                    ImportReport.Status.IMPORTED, null);
+            saved.add(candidate.employee());
+        }
+        dashboardSnapshot.onEmployeesSaved(saved);
+        nameSearch.onEmployeesSaved(saved);
+        return saved.size();
+    }
+
+    // One transaction per row, so only the rows that fail on their own data are reported as failed
+    private List<Candidate> importRowByRow(List<Candidate> candidates, ImportReport.RowResult[] results) {
+        List<Candidate> inserted = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            try {
+                insert(List.of(candidate.employee()));
+                inserted.add(candidate);
+            } catch (DataAccessException e) {
+                fail(results, candidate, e.getMostSpecificCause().getMessage());
+            }
+        }
+        log.info("EmployeeImportService : importRowByRow() : Imported {} of {} rows one by one", inserted.size(), candidates.size());
+        return inserted;
+    }
+
+    // Inserts the employees and their rollup rows in one transaction
+    private void insert(List<Employee> employees) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, employees, employees.size(), (ps, emp) -> {
+                ps.setString(1, emp.getEmpId());
+                ps.setString(2, emp.getEmpName());
+                ps.setString(3, emp.getEmpCode());
+                ps.setString(4, emp.getRole());
+                ps.setString(5, emp.getDepartment());
+                ps.setInt(6, emp.getMonthlyCallTarget());
+                ps.setInt(7, emp.getMonthlyTarget());
+                ps.setDate(8, Date.valueOf(emp.getJoinDate()));
+                ps.setInt(9, emp.getAchieved());
+                ps.setInt(10, emp.getCallsMade());
+                ps.setInt(11, emp.getMeetTarget());
+                ps.setString(12, emp.getTeam());
+                ps.setString(13, emp.getEmail());
+                if (emp.getPassword() != null) {
+                    ps.setString(14, emp.getPassword());
+                } else {
+                    ps.setNull(14, Types.VARCHAR);
+                }
+                ps.setDouble(15, emp.getPerformancePercentage());
+            });
+            salesService.recordNewEmployees(employees.stream().map(Employee::getEmpId).toList());
+        });
+    }
+
+    // Constraint violations, data too long and bad SQL fail the same way every time; a lost connection does not
+    private static boolean isBadData(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private static void fail(ImportReport.RowResult[] results, Candidate candidate, String message) {
+        results[candidate.row() - 1] = new ImportReport.RowResult(candidate.row(), candidate.employee().getEmpId(),
+                ImportReport.Status.FAILED, message);
+    }
+
+    private static void reject(ImportReport.RowResult[] results, Candidate candidate, String message) {
+        results[candidate.row() - 1] = new ImportReport.RowResult(candidate.row(), candidate.employee().getEmpId(),
+                ImportReport.Status.REJECTED, message);
+    }
+
+    private static Employee toEmployee(List<String> header, List<String> values) {
+        Employee emp = new Employee();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            String column = header.get(i).trim();
+            try {
+                switch (column) {
+                    case "empId" -> emp.setEmpId(value);
+                    case "empName" -> emp.setEmpName(value);
+                    case "empCode" -> emp.setEmpCode(value);
+                    case "email" -> emp.setEmail(value);
+                    case "password" -> emp.setPassword(value);
+                    case "role" -> emp.setRole(value);
+                    case "department" -> emp.setDepartment(value);
+                    case "team" -> emp.setTeam(value);
+                    case "monthlyTarget" -> emp.setMonthlyTarget(Integer.valueOf(value));
+                    case "achieved" -> emp.setAchieved(Integer.valueOf(value));
+                    case "monthlyCallTarget" -> emp.setMonthlyCallTarget(Integer.valueOf(value));
+                    case "callsMade" -> emp.setCallsMade(Integer.valueOf(value));
+                    case "meetTarget" -> emp.setMeetTarget(Integer.valueOf(value));
+                    case "joinDate" -> emp.setJoinDate(LocalDate.parse(value));
+                    default -> {
+                    }
+                }
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid value for " + column + ": " + value);
+            }
+        }
+        return emp;
+    }
+
+    // RFC 4180 records: quoted fields may contain separators, doubled quotes and line breaks
+    private static List<List<String>> parseCsv(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                addRecord(records, record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        record.add(field.toString());
+        addRecord(records, record);
+        return records;
+    }
+
+    private static void addRecord(List<List<String>> records, List<String> record) {
+        // Skip blank lines
+        if (record.size() > 1 || !record.get(0).isBlank()) {
+            records.add(record);
+        }
+    }
+
+    private record Candidate(int row, Employee employee) {
+    }
+}
@@ -4,19 +4,54 @@ package com.sales.sales.Services;
 
 import com.sales.sales.Entity.Employee;
 import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.dto.CursorPage;
+import com.sales.sales.dto.EmployeeListRow;
+import com.sales.sales.dto.PerformancePercentageView;
+import com.sales.sales.dto.WeeklySummaryRow;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public abstract class EmployeeService {
 
-    protected final EmployeeRepository repo;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_TOP_BOTTOM = 5;
+    public static final int MAX_TOP_BOTTOM = 100;
 
-    public EmployeeService(EmployeeRepository repo) {
+    protected final EmployeeRepository repo;
+    protected final DashboardSnapshotService dashboardSnapshot;
+    protected final SalesService salesService;
+    protected final DataVersionService dataVersions;
+    protected final NameSearchService nameSearch;
+    protected final TransactionTemplate transactionTemplate;
+    protected final ModelMapper modelMapper;
+
+    public EmployeeService(EmployeeRepository repo, DashboardSnapshotService dashboardSnapshot, SalesService salesService,
+                           DataVersionService dataVersions, NameSearchService nameSearch,
+                           TransactionTemplate transactionTemplate, ModelMapper modelMapper) {
         this.repo = repo;
+        this.dashboardSnapshot = dashboardSnapshot;
+        this.salesService = salesService;
+        this.dataVersions = dataVersions;
+        this.nameSearch = nameSearch;
+        this.transactionTemplate = transactionTemplate;
+        this.modelMapper = modelMapper;
     }
 
     // Implement the missing method
@@ -24,6 +59,31 @@ public abstract class EmployeeService {
         return repo.findAll();
     }
 
+    /**
+     * Keyset page of employees ordered by empId, starting after {@code afterId} (from the start when null).
+     */
+    public CursorPage<EmployeeListRow> getEmployeesPage(String afterId, int size) {
+        Slice<EmployeeListRow> slice = afterId == null || afterId.isBlank()
+                ? repo.findBy(keysetPage(size))
+                : repo.findByEmpIdGreaterThan(afterId, keysetPage(size));
+        return toCursorPage(slice, EmployeeListRow::empId);
+    }
+
+    public List<WeeklySummaryRow> getWeeklySummary() {
+        return repo.findWeeklySummaryRows();
+    }
+
+    protected static Pageable keysetPage(int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        return PageRequest.of(0, pageSize, Sort.by("empId"));
+    }
+
+    protected static <T> CursorPage<T> toCursorPage(Slice<T> slice, Function<T, String> empId) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty() ? empId.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(content, nextCursor, slice.hasNext());
+    }
+
     public Optional<Employee> getEmployeeById(String id) {
         return repo.findById(id);
     }
@@ -69,21 +129,68 @@ public abstract class EmployeeService {
         if (emp.getMonthlyTarget() == null) {
             emp.setMonthlyTarget(0);
         }
-
-        return repo.save(emp);
+        // New rows start at version 0; a client-supplied version would make save() merge instead of insert
+        emp.setVersion(null);
+
+        Employee saved = repo.save(emp);
+        dashboardSnapshot.onEmployeeSaved(saved);
+        nameSearch.onEmployeeSaved(saved);
+        salesService.recordNewEmployees(List.of(saved.getEmpId()));
+        dataVersions.bump(DataVersionService.Aggregate.EMPLOYEES);
+        return saved;
     }
 
+    // Full replacement of the client-editable fields; the linked user is kept.
+    // callsMade and achieved are server-owned: EmployeeCounterService increments them without bumping
+    // the version, so they keep their stored values and, being unchanged, stay out of the UPDATE
     public Employee updateEmployee(String id, Employee emp) {
-        if (repo.existsById(id)) {
+        return update(id, emp.getVersion(), current -> {
             emp.setEmpId(id);
+            emp.setVersion(current.getVersion());
+            emp.setUser(current.getUser());
+            emp.setCallsMade(current.getCallsMade());
+            emp.setAchieved(current.getAchieved());
             return repo.save(emp);
-        }
-        throw new RuntimeException("Employee not found with ID: " + id);
+        });
+    }
+
+    // Partial update: null fields in the body are left unchanged, and only changed columns are written.
+    // The server-owned counters are ignored, as in updateEmployee
+    public Employee patchEmployee(String id, Employee patch) {
+        return update(id, patch.getVersion(), current -> {
+            patch.setEmpId(null);
+            patch.setVersion(null);
+            patch.setCallsMade(null);
+            patch.setAchieved(null);
+            modelMapper.map(patch, current);
+            return current;
+        });
+    }
+
+    /**
+     * Loads the employee, checks the client's version and applies the change in one transaction:
+     * one SELECT and one UPDATE guarded by the version column.
+     */
+    private Employee update(String id, Long expectedVersion, UnaryOperator<Employee> change) {
+        Employee saved = transactionTemplate.execute(status -> {
+            Employee current = repo.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Employee not found with ID: " + id));
+            VersionCheck.require(Employee.class, id, expectedVersion, current.getVersion());
+            return change.apply(current);
+        });
+        dashboardSnapshot.onEmployeeSaved(saved);
+        nameSearch.onEmployeeSaved(saved);
+        salesService.recordEmployee(saved);
+        dataVersions.bump(DataVersionService.Aggregate.EMPLOYEES);
+        return saved;
     }
 
     public void deleteEmployee(String id) {
         if (repo.existsById(id)) {
             repo.deleteById(id);
+            dashboardSnapshot.onEmployeeDeleted(id);
+            nameSearch.onEmployeeDeleted(id);
+            dataVersions.bump(DataVersionService.Aggregate.EMPLOYEES);
         } else {
             throw new RuntimeException("Employee not found with ID: " + id);
         }
@@ -163,39 +270,20 @@ public abstract class EmployeeService {
         return callSummary;
     }
 
-    // Add the missing method
+    // Last six months from the monthly sales rollup
     public Map<String, Object> getSalesCallingOverview() {
-        List<Employee> employees = repo.findAll();
         Map<String, Object> overview = new HashMap<>();
 
-        // Generate monthly data based on employee performance
-        List<String> months = Arrays.asList("Jan", "Feb", "Mar", "Apr", "May", "Jun");
-
-        // Calculate monthly targets and achievements based on actual employee data
+        List<String> months = new ArrayList<>();
         List<Integer> monthlyTargets = new ArrayList<>();
         List<Integer> monthlyAchieved = new ArrayList<>();
         List<Integer> monthlyCalls = new ArrayList<>();
 
-        // Calculate base values from employee data
-        int baseTarget = employees.isEmpty() ? 0 :
-                employees.stream().mapToInt(emp -> emp.getMonthlyTarget() != null ? emp.getMonthlyTarget() : 0).sum() / employees.size();
-
-        int baseAchieved = employees.isEmpty() ? 0 :
-                employees.stream().mapToInt(emp -> emp.getAchieved() != null ? emp.getAchieved() : 0).sum() / employees.size();
-
-        int baseCalls = employees.isEmpty() ? 0 :
-                employees.stream().mapToInt(emp -> emp.getCallsMade() != null ? emp.getCallsMade() : 0).sum() / employees.size();
-
-        Random random = new Random();
-        for (int i = 0; i < months.size(); i++) {
-            // Add some variation to make it look realistic
-            int target = Math.max(0, baseTarget + random.nextInt(5000) - 2500);
-            int achieved = Math.max(0, baseAchieved + random.nextInt(6000) - 3000);
-            int calls = Math.max(0, baseCalls + random.nextInt(200) - 100);
-
-            monthlyTargets.add(target);
-            monthlyAchieved.add(achieved);
-            monthlyCalls.add(calls);
+        for (SalesService.MonthlyTotals month : salesService.getMonthlyTotals(6, null)) {
+            months.add(month.label());
+            monthlyTargets.add(month.target());
+            monthlyAchieved.add(month.achieved());
+            monthlyCalls.add(month.calls());
         }
 
         overview.put("months", months);
@@ -206,108 +294,58 @@ public abstract class EmployeeService {
         return overview;
     }
 
-    public Map<String, Object> getTopAndBottomEmployeesByPerformance() {
-        List<Employee> allEmployees = repo.findAll();
-
-        // Calculate performance score for each employee
-        List<EmployeePerformance> employeePerformances = allEmployees.stream()
-                .map(employee -> {
-                    double performanceScore = calculatePerformanceScore(employee);
-                    return new EmployeePerformance(employee, performanceScore);
-                })
-                .sorted((a, b) -> Double.compare(b.getPerformanceScore(), a.getPerformanceScore()))
+    /**
+     * The k best and k worst employees by performance percentage (meetTarget over monthlyTarget),
+     * both lists highest first. Each side is one ORDER BY ... LIMIT k query over the persisted,
+     * indexed percentage, so nothing is loaded or sorted in memory.
+     */
+    public Map<String, Object> getTopAndBottomEmployeesByPerformance(int k) {
+        Pageable limit = PageRequest.of(0, Math.max(1, Math.min(k, MAX_TOP_BOTTOM)));
+        List<Map<String, Object>> top = repo.findTopByPerformancePercentage(limit).stream()
+                .map(this::toPerformanceMap)
                 .collect(Collectors.toList());
-
-        // Get top 5 performers
-        List<Map<String, Object>> topPerformers = employeePerformances.stream()
-                .limit(5)
-                .map(ep -> createPerformanceMap(ep.getEmployee(), ep.getPerformanceScore()))
-                .collect(Collectors.toList());
-
-        // Get bottom 5 performers
-        List<Map<String, Object>> bottomPerformers = employeePerformances.stream()
-                .skip(Math.max(0, employeePerformances.size() - 5))
-                .map(ep -> createPerformanceMap(ep.getEmployee(), ep.getPerformanceScore()))
+        List<Map<String, Object>> bottom = repo.findBottomByPerformancePercentage(limit).stream()
+                .map(this::toPerformanceMap)
                 .collect(Collectors.toList());
+        Collections.reverse(bottom);
 
         Map<String, Object> result = new HashMap<>();
-        result.put("topPerformers", topPerformers);
-        result.put("bottomPerformers", bottomPerformers);
-
+        result.put("top5Employees", top);
+        result.put("bottom5Employees", bottom);
         return result;
     }
 
-    private double calculatePerformanceScore(Employee employee) {
-        if (employee == null) return 0.0;
-
-        double achievementWeight = 0.6;
-        double callsWeight = 0.3;
-        double meetTargetWeight = 0.1;
-
-        // Achievement score (0-100)
-        double achievementScore = 0.0;
-        if (employee.getMonthlyTarget() != null && employee.getMonthlyTarget() > 0) {
-            achievementScore = (employee.getAchieved().doubleValue() / employee.getMonthlyTarget()) * 100;
-        }
-
-        // Calls score (0-100)
-        double callsScore = 0.0;
-        if (employee.getMonthlyCallTarget() != null && employee.getMonthlyCallTarget() > 0) {
-            callsScore = (employee.getCallsMade().doubleValue() / employee.getMonthlyCallTarget()) * 100;
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPerformancePercentage() {
+        try {
+            int updated = repo.backfillPerformancePercentage();
+            if (updated > 0) {
+                log.info("EmployeeService : backfillPerformancePercentage() : Filled performance percentage for {} employees", updated);
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling performance percentage: {}", e.getMessage());
         }
-        callsScore = Math.min(callsScore, 100); // Cap at 100%
-
-        // Meet target score (already in percentage)
-        double meetTargetScore = employee.getMeetTarget() != null ? employee.getMeetTarget().doubleValue() : 0.0;
-
-        // Calculate weighted performance score
-        return (achievementScore * achievementWeight) +
-                (callsScore * callsWeight) +
-                (meetTargetScore * meetTargetWeight);
     }
 
-    private Map<String, Object> createPerformanceMap(Employee employee, double performanceScore) {
-        Map<String, Object> performanceMap = new HashMap<>();
-        performanceMap.put("empId", employee.getEmpId());
-        performanceMap.put("empName", employee.getEmpName());
-        performanceMap.put("empCode", employee.getEmpCode());
-        performanceMap.put("team", employee.getTeam());
-        performanceMap.put("department", employee.getDepartment());
-        performanceMap.put("performanceScore", Math.round(performanceScore * 100.0) / 100.0); // Round to 2 decimal
-        performanceMap.put("achieved", employee.getAchieved());
-        performanceMap.put("monthlyTarget", employee.getMonthlyTarget());
-        performanceMap.put("callsMade", employee.getCallsMade());
-        performanceMap.put("monthlyCallTarget", employee.getMonthlyCallTarget());
-        performanceMap.put("meetTarget", employee.getMeetTarget());
-
-        return performanceMap;
+    private Map<String, Object> toPerformanceMap(PerformancePercentageView row) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("empId", row.getEmpId());
+        data.put("empName", row.getEmpName());
+        data.put("team", row.getDepartment());
+        data.put("monthlyTarget", row.getMonthlyTarget() == null ? 0.0 : row.getMonthlyTarget().doubleValue());
+        data.put("meetTarget", row.getMeetTarget() == null ? 0.0 : row.getMeetTarget().doubleValue());
+        data.put("performancePercentage", row.getPerformancePercentage() == null ? 0.0 : row.getPerformancePercentage());
+        return data;
     }
 
     // Abstract methods that need implementation in concrete class
-    public abstract List<Employee> filterEmployees(
+    public abstract CursorPage<Employee> filterEmployees(
             String name,
             String team,
             LocalDate startDate,
             LocalDate endDate,
-            Integer achieved
+            Integer achieved,
+            String afterId,
+            int size
     );
-
-    // Helper class for employee performance
-    private static class EmployeePerformance {
-        private final Employee employee;
-        private final double performanceScore;
-
-        public EmployeePerformance(Employee employee, double performanceScore) {
-            this.employee = employee;
-            this.performanceScore = performanceScore;
-        }
-
-        public Employee getEmployee() {
-            return employee;
-        }
-
-        public double getPerformanceScore() {
-            return performanceScore;
-        }
-    }
 }
\ No newline at end of file
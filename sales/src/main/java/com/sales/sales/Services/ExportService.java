@@ -0,0 +1,175 @@
+package com.sales.sales.Services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Entity.LeadDetail;
+import com.sales.sales.Repositories.CallDetailRepository;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Repositories.LeadDetailRepository;
+import com.sales.sales.dto.EmployeeExportRow;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-table exports for BI, written row by row to the response stream.
+ *
+ * Rows come from forward-only repository streams and are written as they are read; call and
+ * lead entities are detached once written, so the persistence context and the heap stay flat
+ * however large the table is. Callers run these inside a StreamingResponseBody, with
+ * exports.request-timeout as the request's async timeout.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return MediaType.parseMediaType(contentType);
+        }
+
+        public String fileName(String table) {
+            return table + "." + extension;
+        }
+
+        public static Format of(String value) {
+            return value != null && value.equalsIgnoreCase("csv") ? CSV : NDJSON;
+        }
+    }
+
+    private static final List<String> EMPLOYEE_COLUMNS = List.of("empId", "empName", "empCode", "email", "role",
+            "department", "team", "monthlyTarget", "achieved", "monthlyCallTarget", "callsMade", "meetTarget", "joinDate");
+    private static final List<String> CALL_COLUMNS = List.of("callId", "empId", "callDate", "callType", "disposition",
+            "duration", "team");
+    private static final List<String> LEAD_COLUMNS = List.of("leadId", "empId", "phone", "source", "convertedToDeal",
+            "dealValue", "createdDate");
+
+    private final EmployeeRepository employeeRepository;
+    private final CallDetailRepository callDetailRepository;
+    private final LeadDetailRepository leadDetailRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${exports.request-timeout:30m}")
+    private Duration requestTimeout;
+
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportEmployees(Format format, OutputStream out) throws IOException {
+        try (Stream<EmployeeExportRow> rows = employeeRepository.streamExportRows()) {
+            return write(format, out, rows, EMPLOYEE_COLUMNS, e -> new Object[]{
+                    e.empId(), e.empName(), e.empCode(), e.email(), e.role(), e.department(), e.team(),
+                    e.monthlyTarget(), e.achieved(), e.monthlyCallTarget(), e.callsMade(), e.meetTarget(), e.joinDate()}, false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCalls(Format format, OutputStream out) throws IOException {
+        try (Stream<CallDetail> rows = callDetailRepository.streamAll()) {
+            return write(format, out, rows, CALL_COLUMNS, c -> new Object[]{
+                    c.getCallId(), c.getEmpId(), c.getCallDate(), c.getCallType(), c.getDisposition(),
+                    c.getDuration(), c.getTeam()}, true);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportLeads(Format format, OutputStream out) throws IOException {
+        try (Stream<LeadDetail> rows = leadDetailRepository.streamAll()) {
+            return write(format, out, rows, LEAD_COLUMNS, l -> new Object[]{
+                    l.getLeadId(), l.getEmpId(), l.getPhone(), l.getSource(), l.getConvertedToDeal(),
+                    l.getDealValue(), l.getCreatedDate()}, true);
+        }
+    }
+
+    private <T> long write(Format format, OutputStream out, Stream<T> rows, List<String> columns,
+                           Function<T, Object[]> values, boolean detach) throws IOException {
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        if (format == Format.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeCsvLine(writer, columns.toArray());
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                writeCsvLine(writer, values.apply(row));
+                release(row, detach);
+                count++;
+            }
+            writer.flush();
+        } else {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                Object[] fields = values.apply(row);
+                generator.writeStartObject();
+                for (int i = 0; i < fields.length; i++) {
+                    generator.writeFieldName(columns.get(i));
+                    generator.writeObject(fields[i]);
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                release(row, detach);
+                count++;
+            }
+            generator.flush();
+        }
+        log.info("ExportService : write() : Exported {} rows as {}", count, format);
+        return count;
+    }
+
+    private void release(Object row, boolean detach) {
+        if (detach) {
+            entityManager.detach(row);
+        }
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+    private static void writeCsvLine(Writer writer, Object[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] == null) {
+                continue;
+            }
+            String value = fields[i].toString();
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
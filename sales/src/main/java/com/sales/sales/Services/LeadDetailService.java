@@ -4,9 +4,14 @@ import com.sales.sales.Entity.Employee;
 import com.sales.sales.Entity.LeadDetail;
 import com.sales.sales.Repositories.EmployeeRepository;
 import com.sales.sales.Repositories.LeadDetailRepository;
+import com.sales.sales.dto.LeadListRow;
+import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
@@ -14,16 +19,26 @@ public class LeadDetailService {
 
     private final LeadDetailRepository repo;
     private final EmployeeRepository employeeRepo;
+    private final DataVersionService dataVersions;
+    private final EmployeeCounterService employeeCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelMapper modelMapper;
 
     @Autowired
-    public LeadDetailService(LeadDetailRepository repo, EmployeeRepository employeeRepo) {
+    public LeadDetailService(LeadDetailRepository repo, EmployeeRepository employeeRepo, DataVersionService dataVersions,
+                             EmployeeCounterService employeeCounters, TransactionTemplate transactionTemplate,
+                             ModelMapper modelMapper) {
         this.repo = repo;
         this.employeeRepo = employeeRepo;
+        this.dataVersions = dataVersions;
+        this.employeeCounters = employeeCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.modelMapper = modelMapper;
     }
 
-    // 1. Get all leads
-    public List<LeadDetail> getAllLeads() {
-        return repo.findAll();
+    // 1. Get all leads, as a column projection
+    public List<LeadListRow> getAllLeads() {
+        return repo.findListRows();
     }
 
     // 2. Get lead by ID
@@ -33,21 +48,67 @@ public class LeadDetailService {
 
     // 3. Add lead
     public LeadDetail addLead(LeadDetail lead) {
-        return repo.save(lead);
+        LeadDetail saved = repo.save(lead);
+        dataVersions.bump(DataVersionService.Aggregate.LEADS);
+        employeeCounters.recordAchieved(saved.getEmpId(), achievedValue(saved));
+        return saved;
     }
 
     // 4. Update lead
     public LeadDetail updateLead(Long id, LeadDetail lead) {
-        if (repo.existsById(id)) {
+        return update(id, lead.getVersion(), current -> {
             lead.setLeadId(id);
+            lead.setVersion(current.getVersion());
             return repo.save(lead);
+        });
+    }
+
+    // 4b. Partial update: null fields in the body are left unchanged
+    public LeadDetail patchLead(Long id, LeadDetail patch) {
+        return update(id, patch.getVersion(), current -> {
+            patch.setLeadId(null);
+            patch.setVersion(null);
+            modelMapper.map(patch, current);
+            return current;
+        });
+    }
+
+    // Version-checked load and change in one transaction; then moves the deal value when the lead
+    // converts, un-converts or changes owner
+    private LeadDetail update(Long id, Long expectedVersion, UnaryOperator<LeadDetail> change) {
+        Updated updated = transactionTemplate.execute(status -> repo.findById(id).map(current -> {
+            VersionCheck.require(LeadDetail.class, id, expectedVersion, current.getVersion());
+            String previousEmpId = current.getEmpId();
+            int previousValue = achievedValue(current);
+            return new Updated(previousEmpId, previousValue, change.apply(current));
+        }).orElse(null));
+        if (updated == null) {
+            return null;
         }
-        return null;
+        dataVersions.bump(DataVersionService.Aggregate.LEADS);
+        employeeCounters.recordAchieved(updated.previousEmpId(), -updated.previousValue());
+        employeeCounters.recordAchieved(updated.lead().getEmpId(), achievedValue(updated.lead()));
+        return updated.lead();
     }
 
-    // 5. Delete lead
+    // 5. Delete lead: the loaded row is deleted in the same transaction, and its deal value is taken
+    // off the employee once that has committed
     public void deleteLead(Long id) {
-        repo.deleteById(id);
+        Optional<LeadDetail> existing = transactionTemplate.execute(status -> {
+            Optional<LeadDetail> lead = repo.findById(id);
+            lead.ifPresent(repo::delete);
+            return lead;
+        });
+        dataVersions.bump(DataVersionService.Aggregate.LEADS);
+        existing.ifPresent(lead -> employeeCounters.recordAchieved(lead.getEmpId(), -achievedValue(lead)));
+    }
+
+    // What a lead adds to its employee's achieved figure: the deal value once converted
+    static int achievedValue(LeadDetail lead) {
+        if (!"Yes".equalsIgnoreCase(lead.getConvertedToDeal()) || lead.getDealValue() == null) {
+            return 0;
+        }
+        return Math.round(lead.getDealValue());
     }
 
     // 6. Summary (total, conversion, average deal)
@@ -135,6 +196,9 @@ public class LeadDetailService {
 
         return result;
     }
+
+    private record Updated(String previousEmpId, int previousValue, LeadDetail lead) {
+    }
 }
 
 
@@ -0,0 +1,296 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.User;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Repositories.UserRepository;
+import com.sales.sales.dto.SearchHit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index for the name typeahead, over employee names, codes and emails and user
+ * full names.
+ *
+ * Indexed text is lower-cased and split into words, and every word is indexed by the trigrams of
+ * its padded form ("  john " gives "  j", " jo", "joh", "ohn", "hn "). A query word of three or
+ * more characters matches anywhere in a word, like the LIKE '%q%' it replaces; shorter query words
+ * match word prefixes through the padded trigrams. The posting lists of the query trigrams are
+ * intersected, smallest first, and the surviving entries are checked against their text.
+ *
+ * Entries whose name starts with the query come first, alphabetically, straight from a sorted name
+ * map; the rest of the limit is filled from the trigram matches. Both stop as soon as the limit is
+ * reached, so a one-letter query that matches half the index costs no more than a precise one.
+ *
+ * The index is loaded once, on first search, and is then kept current by the employee and user
+ * write paths. Searches share a read lock; writes take the write lock.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NameSearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock. Entry ids are list positions; removed entries leave a null behind until the next compaction
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> entryIds = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    // Normalized name + NUL + key -> entry id, for the name prefix matches
+    private final NavigableMap<String, Integer> names = new TreeMap<>();
+    private int removedEntries;
+    private boolean loaded;
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        int max = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            // Insertion ordered, so name prefix matches stay ahead of the trigram matches
+            Map<Integer, SearchHit> hits = new LinkedHashMap<>();
+            String prefix = String.join(" ", words);
+            for (int id : names.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                if (hits.size() == max) {
+                    break;
+                }
+                hits.put(id, entries.get(id).hit());
+            }
+            if (hits.size() < max) {
+                addTrigramMatches(words, hits, max);
+            }
+            return List.copyOf(hits.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addTrigramMatches(List<String> words, Map<Integer, SearchHit> hits, int max) {
+        List<Postings> lists = new ArrayList<>();
+        for (long trigram : queryTrigrams(words)) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings smallest = lists.get(0);
+        for (int i = 0; i < smallest.size() && hits.size() < max; i++) {
+            int id = smallest.get(i);
+            Entry entry = entries.get(id);
+            if (entry != null && !hits.containsKey(id) && inAll(lists, id) && entry.matches(words)) {
+                hits.put(id, entry.hit());
+            }
+        }
+    }
+
+    public void onEmployeeSaved(Employee employee) {
+        if (employee != null && employee.getEmpId() != null) {
+            onEmployeesSaved(List.of(employee));
+        }
+    }
+
+    public void onEmployeesSaved(Collection<Employee> employees) {
+        update(() -> {
+            for (Employee employee : employees) {
+                if (employee.getEmpId() != null) {
+                    put(new SearchHit(SearchHit.EMPLOYEE, employee.getEmpId(), employee.getEmpName(),
+                            employee.getEmpCode(), employee.getEmail()));
+                }
+            }
+        });
+    }
+
+    public void onEmployeeDeleted(String empId) {
+        update(() -> remove(key(SearchHit.EMPLOYEE, empId)));
+    }
+
+    public void onUserSaved(User user) {
+        if (user == null || user.getUserId() == null) {
+            return;
+        }
+        update(() -> put(new SearchHit(SearchHit.USER, String.valueOf(user.getUserId()), user.getFullName(),
+                null, user.getEmail())));
+    }
+
+    public void onUserDeleted(Integer userId) {
+        update(() -> remove(key(SearchHit.USER, String.valueOf(userId))));
+    }
+
+    // Writes before the first search are skipped: the load reads them from the database
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.run();
+                if (removedEntries > 1000 && removedEntries > entries.size() / 2) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                log.info("NameSearchService : ensureLoaded() : Building name search index from database");
+                employeeRepository.findSearchHits().forEach(this::put);
+                userRepository.findSearchHits().forEach(this::put);
+                loaded = true;
+                log.info("Name search index built with {} entries and {} trigrams", entryIds.size(), postings.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(SearchHit hit) {
+        String key = key(hit.type(), hit.id());
+        remove(key);
+        List<String> words = new ArrayList<>(words(hit.name()));
+        if (SearchHit.EMPLOYEE.equals(hit.type())) {
+            words.addAll(words(hit.code()));
+            words.addAll(words(hit.email()));
+        }
+        String name = String.join(" ", words(hit.name())) + '\0' + key;
+        Entry entry = new Entry(hit, " " + String.join(" ", words), name);
+        int id = entries.size();
+        entries.add(entry);
+        entryIds.put(key, id);
+        names.put(name, id);
+        Set<Long> trigrams = new HashSet<>();
+        for (String word : words) {
+            addTrigrams("  " + word + " ", trigrams);
+        }
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, t -> new Postings()).add(id);
+        }
+    }
+
+    private void remove(String key) {
+        Integer id = entryIds.remove(key);
+        if (id != null) {
+            names.remove(entries.get(id).name());
+            entries.set(id, null);
+            removedEntries++;
+        }
+    }
+
+    private void compact() {
+        List<Entry> live = entries.stream().filter(Objects::nonNull).toList();
+        entries.clear();
+        entryIds.clear();
+        postings.clear();
+        names.clear();
+        removedEntries = 0;
+        live.forEach(entry -> put(entry.hit()));
+    }
+
+    private static boolean inAll(List<Postings> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<Long> queryTrigrams(List<String> words) {
+        Set<Long> trigrams = new HashSet<>();
+        for (String word : words) {
+            addTrigrams(word.length() >= 3 ? word : "  " + word, trigrams);
+        }
+        return trigrams;
+    }
+
+    private static void addTrigrams(String text, Set<Long> trigrams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(WORD_SEPARATOR.split(normalize(text))).filter(word -> !word.isEmpty()).toList();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String type, String id) {
+        return type + ":" + id;
+    }
+
+    /**
+     * text holds the indexed words, each preceded by a space, so " " + word finds a word prefix;
+     * name is the entry's key in the sorted name map.
+     */
+    private record Entry(SearchHit hit, String text, String name) {
+
+        boolean matches(List<String> words) {
+            for (String word : words) {
+                if (!text.contains(word.length() >= 3 ? word : " " + word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Ascending entry ids; ids are handed out in increasing order, so appending keeps the list sorted
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
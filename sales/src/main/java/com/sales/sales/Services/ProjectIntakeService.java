@@ -1,6 +1,7 @@
 package com.sales.sales.Services;
 
 import com.sales.sales.Entity.ProjectIntake;
+import com.sales.sales.dto.ProjectListRow;
 
 import java.util.List;
 import java.util.Map;
@@ -8,6 +9,7 @@ import java.util.Map;
 public interface ProjectIntakeService {
     ProjectIntake save(ProjectIntake project);
     List<ProjectIntake> findAll();
+    List<ProjectListRow> findAllRows();
     ProjectIntake findById(Long id);
     void deleteById(Long id);
     long countByStatus(String status);
@@ -4,11 +4,14 @@ import com.sales.sales.Entity.ResourceAllocation;
 import com.sales.sales.Repositories.ResourceAllocationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 @Service
@@ -16,6 +19,8 @@ import java.util.Optional;
 public class ResourceAllocationService {
 
     private final ResourceAllocationRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelMapper modelMapper;
 
     // Get all allocations
     public List<ResourceAllocation> getAllAllocations() {
@@ -49,13 +54,34 @@ public class ResourceAllocationService {
     public ResourceAllocation updateAllocation(Long id, ResourceAllocation allocation) {
         log.info("Updating allocation with ID: {}", id);
         
-        if (repository.existsById(id)) {
+        return update(id, allocation.getVersion(), current -> {
             allocation.setAllocationId(id);
+            allocation.setVersion(current.getVersion());
             return repository.save(allocation);
+        });
+    }
+
+    // Partial update: null fields in the body are left unchanged
+    public ResourceAllocation patchAllocation(Long id, ResourceAllocation patch) {
+        log.info("Patching allocation with ID: {}", id);
+        return update(id, patch.getVersion(), current -> {
+            patch.setAllocationId(null);
+            patch.setVersion(null);
+            modelMapper.map(patch, current);
+            return current;
+        });
+    }
+
+    // Version-checked load and change in one transaction
+    private ResourceAllocation update(Long id, Long expectedVersion, UnaryOperator<ResourceAllocation> change) {
+        ResourceAllocation saved = transactionTemplate.execute(status -> repository.findById(id).map(current -> {
+            VersionCheck.require(ResourceAllocation.class, id, expectedVersion, current.getVersion());
+            return change.apply(current);
+        }).orElse(null));
+        if (saved == null) {
+            log.warn("Allocation not found with ID: {}", id);
         }
-        
-        log.warn("Allocation not found with ID: {}", id);
-        return null;
+        return saved;
     }
 
     // Delete allocation
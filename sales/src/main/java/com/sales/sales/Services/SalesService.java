@@ -1,18 +1,28 @@
 package com.sales.sales.Services;
 
 
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Repositories.SalesPerformanceRepository;
+import com.sales.sales.dto.MonthlySalesView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.*;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class SalesService {
 
+    private final SalesPerformanceRepository salesPerformanceRepository;
+
     public Map<String, Object> getSalesPerformance() {
         log.info("SalesService : getSalesPerformance() : Fetching sales performance data");
 
@@ -25,4 +35,102 @@ public class SalesService {
 
         return performance;
     }
-}
\ No newline at end of file
+
+    /**
+     * Opens the current month with a row for every employee that has none yet: on startup, e.g. on
+     * first deployment of the rollup, and at the start of each month. Employees written since the
+     * rollover already have their row and are left alone.
+     *
+     * Month rows hold that month's figures: they start at zero achieved and calls and only the
+     * counter increments of the month are added, while the employee row keeps the running totals.
+     * A first deployment therefore starts its current month at zero.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${sales.rollup.seed-cron:0 0 0 1 * *}")
+    public void seedCurrentMonth() {
+        seedMonth(YearMonth.now().toString());
+    }
+
+    private void seedMonth(String month) {
+        try {
+            int seeded = salesPerformanceRepository.seedMonthFromEmployees(month);
+            log.info("SalesService : seedMonth() : Seeded {} rollup rows for {}", seeded, month);
+        } catch (DataIntegrityViolationException e) {
+            // Another node seeded the same rows concurrently; the statement is all or nothing, so the month is complete
+            log.info("SalesService : seedMonth() : Rollup for {} already seeded by another node", month);
+        } catch (Exception e) {
+            // Employees missing a row get one from addCounters on their next increment
+            log.error("Error seeding sales rollup for {}: {}", month, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the employee's profile fields and target into the current month's rollup row, opening
+     * it at zero when the month has none yet. The row's figures are left to {@link #addCounters}.
+     * Called from the employee update paths so chart reads never have to scan employees.
+     */
+    public void recordEmployee(Employee employee) {
+        if (employee == null || employee.getEmpId() == null) {
+            return;
+        }
+        double target = employee.getMonthlyTarget() != null ? employee.getMonthlyTarget() : 0;
+
+        salesPerformanceRepository.upsertMonth(employee.getEmpId(), employee.getEmpName(), YearMonth.now().toString(),
+                employee.getDepartment(), employee.getTeam(), target, 0, 0, 0);
+    }
+
+    /**
+     * Adds the current month rows of newly inserted employees in one set-based statement, carrying
+     * the figures they were created with.
+     */
+    public int recordNewEmployees(Collection<String> empIds) {
+        if (empIds.isEmpty()) {
+            return 0;
+        }
+        return salesPerformanceRepository.seedMonthForEmployees(YearMonth.now().toString(), empIds);
+    }
+
+    /**
+     * Adds counter increments to the employee's current month row, opening the row first when the
+     * month has none for the employee yet.
+     */
+    public void addCounters(String empId, int calls, int achieved) {
+        String month = YearMonth.now().toString();
+        if (salesPerformanceRepository.incrementMonth(empId, month, calls, achieved) == 0
+                && salesPerformanceRepository.seedEmptyMonthForEmployees(month, List.of(empId)) > 0) {
+            salesPerformanceRepository.incrementMonth(empId, month, calls, achieved);
+        }
+    }
+
+    /**
+     * Monthly totals for the last {@code months} months up to and including the current one,
+     * oldest first. Months without rollup rows are returned as zeros.
+     */
+    public List<MonthlyTotals> getMonthlyTotals(int months, String department) {
+        YearMonth to = YearMonth.now();
+        YearMonth from = to.minusMonths(months - 1L);
+
+        List<MonthlySalesView> rows = department == null
+                ? salesPerformanceRepository.getMonthlyTotals(from.toString(), to.toString())
+                : salesPerformanceRepository.getMonthlyTotalsByDepartment(from.toString(), to.toString(), department);
+
+        Map<String, MonthlySalesView> byMonth = new HashMap<>();
+        for (MonthlySalesView row : rows) {
+            byMonth.put(row.getMonthYear(), row);
+        }
+
+        List<MonthlyTotals> totals = new ArrayList<>(months);
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlySalesView row = byMonth.get(month.toString());
+            totals.add(new MonthlyTotals(
+                    month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+                    row != null && row.getSalesTarget() != null ? row.getSalesTarget().intValue() : 0,
+                    row != null && row.getSalesAchieved() != null ? row.getSalesAchieved().intValue() : 0,
+                    row != null && row.getCallsMade() != null ? row.getCallsMade().intValue() : 0));
+        }
+        return totals;
+    }
+
+    public record MonthlyTotals(String label, int target, int achieved, int calls) {
+    }
+}
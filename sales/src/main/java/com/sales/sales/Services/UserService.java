@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final NameSearchService nameSearch;
     
     public Optional<User> getUserById(Integer id) {
         log.info("UserService : getUserById() : Fetching user by ID: {}", id);
@@ -30,7 +31,9 @@ public class UserService {
     
     public User updateUser(User user) {
         log.info("UserService : updateUser() : Updating user with ID: {}", user.getUserId());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        nameSearch.onUserSaved(saved);
+        return saved;
     }
     
     public User getCurrentUser(String email) {
@@ -84,13 +87,16 @@ public class UserService {
             throw new RuntimeException("User with email " + user.getEmail() + " already exists");
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        nameSearch.onUserSaved(saved);
+        return saved;
     }
     
     public void deleteUser(Integer userId) {
         log.info("UserService : deleteUser() : Deleting user with ID: {}", userId);
         if (userRepository.existsById(userId)) {
             userRepository.deleteById(userId);
+            nameSearch.onUserDeleted(userId);
         } else {
             throw new RuntimeException("User with ID " + userId + " not found");
         }
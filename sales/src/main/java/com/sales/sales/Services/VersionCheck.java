@@ -0,0 +1,21 @@
+package com.sales.sales.Services;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Version check for the PUT and PATCH paths. The entity is loaded and changed in one transaction,
+ * so a request that carries the version it read is rejected here when the row has moved on, and
+ * the version predicate of the UPDATE catches a write that lands between the load and the commit.
+ * Requests without a version keep the old last-write-wins behaviour.
+ */
+final class VersionCheck {
+
+    private VersionCheck() {
+    }
+
+    static void require(Class<?> type, Object id, Long expected, Long current) {
+        if (expected != null && !expected.equals(current)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+    }
+}
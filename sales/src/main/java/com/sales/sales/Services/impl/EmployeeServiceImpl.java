@@ -3,9 +3,19 @@ package com.sales.sales.Services.impl;
 import com.sales.sales.Entity.CallDetail;
 import com.sales.sales.Entity.Employee;
 import com.sales.sales.Repositories.CallDetailRepository;
+import com.sales.sales.Repositories.CallDetailSpecifications;
 import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Repositories.EmployeeSpecifications;
+import com.sales.sales.Services.DashboardSnapshotService;
+import com.sales.sales.Services.DataVersionService;
 import com.sales.sales.Services.EmployeeService;
+import com.sales.sales.Services.NameSearchService;
+import com.sales.sales.Services.SalesService;
+import com.sales.sales.dto.CursorPage;
+import com.sales.sales.dto.EmployeeTargetTotalsView;
+import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -17,22 +27,29 @@ public class EmployeeServiceImpl extends EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final CallDetailRepository callRepo;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepo, CallDetailRepository callRepo, EmployeeRepository employeeRepository) {
-        super(employeeRepo);
+    public EmployeeServiceImpl(EmployeeRepository employeeRepo, CallDetailRepository callRepo, EmployeeRepository employeeRepository,
+                               DashboardSnapshotService dashboardSnapshot, SalesService salesService,
+                               DataVersionService dataVersions, NameSearchService nameSearch,
+                               TransactionTemplate transactionTemplate, ModelMapper modelMapper) {
+        super(employeeRepo, dashboardSnapshot, salesService, dataVersions, nameSearch, transactionTemplate, modelMapper);
         this.employeeRepository = employeeRepo;
         this.callRepo = callRepo;
 //        this.employeeRepository = employeeRepository;
     }
 
     @Override
-    public List<Employee> filterEmployees(String name, String team, LocalDate startDate, LocalDate endDate, Integer achieved) {
-        return employeeRepository.filterEmployees(name, team, startDate, endDate, achieved);
+    public CursorPage<Employee> filterEmployees(String name, String team, LocalDate startDate, LocalDate endDate, Integer achieved,
+                                                String afterId, int size) {
+        // The name parameter has always filtered on department
+        return toCursorPage(employeeRepository.findBy(
+                EmployeeSpecifications.filter(name, team, startDate, endDate, achieved, afterId),
+                query -> query.slice(keysetPage(size))), Employee::getEmpId);
     }
 
     public Map<String, Object> getSalesSummary() {
-        List<Employee> employees = employeeRepository.findAll();
-        int totalTarget = employees.stream().mapToInt(e -> Optional.ofNullable(e.getMonthlyTarget()).orElse(0)).sum();
-        int totalAchieved = employees.stream().mapToInt(e -> Optional.ofNullable(e.getAchieved()).orElse(0)).sum();
+        EmployeeTargetTotalsView targets = employeeRepository.getTargetTotals();
+        long totalTarget = targets.getTotalMonthlyTarget();
+        long totalAchieved = targets.getTotalAchieved();
         double percentage = totalTarget == 0 ? 0 : ((double) totalAchieved / totalTarget) * 100;
 
         Map<String, Object> summary = new HashMap<>();
@@ -43,17 +60,12 @@ public class EmployeeServiceImpl extends EmployeeService {
     }
 
     public List<CallDetail> filterSales(String name, String team, LocalDate startDate, LocalDate endDate) {
-        return callRepo.filterCalls(name, team, startDate, endDate);
+        return callRepo.findAll(CallDetailSpecifications.filter(team, startDate, endDate));
     }
 
     public Map<String, Object> getCallSummary() {
-        List<Employee> employees = employeeRepository.findAll();
-        List<CallDetail> connectedCalls = callRepo.findConnectedCalls();
-
-
-
-        int totalCallTarget = employees.stream().mapToInt(e -> Optional.ofNullable(e.getMonthlyCallTarget()).orElse(0)).sum();
-        int connectedCount = connectedCalls.size();
+        long totalCallTarget = employeeRepository.getTargetTotals().getTotalCallTarget();
+        long connectedCount = callRepo.countConnectedCalls();
         double percentage = totalCallTarget == 0 ? 0 : ((double) connectedCount / totalCallTarget) * 100;
 
         Map<String, Object> summary = new HashMap<>();
@@ -81,46 +93,4 @@ public class EmployeeServiceImpl extends EmployeeService {
         }
         return topEmployees;
     }
-
-    @Override
-    public Map<String, Object> getTopAndBottomEmployeesByPerformance() {
-        List<Employee> allEmployees = employeeRepository.findAll();
-
-        // Calculate performance percentage for each employee
-        List<Map<String, Object>> employeePerformance = allEmployees.stream()
-                .map(e -> {
-                    double monthlyTarget = Optional.ofNullable(e.getMonthlyTarget()).orElse(0);
-                    double meetTarget = Optional.ofNullable(e.getMeetTarget()).orElse(0);
-                    double percentage = (monthlyTarget > 0) ? (meetTarget / monthlyTarget) * 100 : 0;
-
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("empId", e.getEmpId());
-                    data.put("empName", e.getEmpName());
-                    data.put("team", e.getDepartment());
-                    data.put("monthlyTarget", monthlyTarget);
-                    data.put("meetTarget", meetTarget);
-                    data.put("performancePercentage", Math.round(percentage * 100.0) / 100.0);
-
-                    return data;
-                })
-                .collect(Collectors.toList());
-
-        // Sort employees by percentage (descending for top, ascending for bottom)
-        List<Map<String, Object>> sorted = employeePerformance.stream()
-                .sorted((a, b) -> Double.compare((double) b.get("performancePercentage"), (double) a.get("performancePercentage")))
-                .collect(Collectors.toList());
-
-        // Get top 5 and bottom 5
-        List<Map<String, Object>> top5 = sorted.stream().limit(5).collect(Collectors.toList());
-        List<Map<String, Object>> bottom5 = sorted.stream()
-                .skip(Math.max(0, sorted.size() - 5))
-                .collect(Collectors.toList());
-
-        // Combine results
-        Map<String, Object> result = new HashMap<>();
-        result.put("top5Employees", top5);
-        result.put("bottom5Employees", bottom5);
-
-        return result;
-    }
 }
@@ -3,7 +3,9 @@ import com.sales.sales.Entity.Employee;
 import com.sales.sales.Entity.ProjectIntake;
 import com.sales.sales.Repositories.EmployeeRepository;
 import com.sales.sales.Repositories.ProjectIntakeRepository;
+import com.sales.sales.Services.DataVersionService;
 import com.sales.sales.Services.ProjectIntakeService;
+import com.sales.sales.dto.ProjectListRow;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -20,13 +22,18 @@ public class ProjectIntakeServiceImpl implements ProjectIntakeService {
     @Autowired
     private ProjectIntakeRepository repo;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     public ProjectIntakeServiceImpl(ProjectIntakeRepository projectRepository) {
         this.repo = projectRepository;
     }
 
     @Override
     public ProjectIntake save(ProjectIntake project) {
-        return repo.save(project);
+        ProjectIntake saved = repo.save(project);
+        dataVersions.bump(DataVersionService.Aggregate.PROJECTS);
+        return saved;
     }
 
     @Override
@@ -34,6 +41,12 @@ public class ProjectIntakeServiceImpl implements ProjectIntakeService {
         return repo.findAll();
     }
 
+    // Listing projection: no employee is loaded per project
+    @Override
+    public List<ProjectListRow> findAllRows() {
+        return repo.findListRows();
+    }
+
     @Override
     public ProjectIntake findById(Long id) {
         return repo.findById(id).orElse(null);
@@ -42,6 +55,7 @@ public class ProjectIntakeServiceImpl implements ProjectIntakeService {
     @Override
     public void deleteById(Long id) {
         repo.deleteById(id);
+        dataVersions.bump(DataVersionService.Aggregate.PROJECTS);
     }
 
     @Override
@@ -1,8 +1,12 @@
 package com.sales.sales;
 
+import com.sales.sales.Services.DataVersionService;
+import com.sales.sales.config.DataVersionEtagInterceptor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -19,4 +23,29 @@ public class WebConfig {
 //            }
        };
     }
+
+    // Conditional GET for polled read endpoints, keyed on the data version of what they read.
+    // The overview's twelve-month window moves with the month, so its tags carry the month too
+    @Bean
+    public WebMvcConfigurer dataVersionEtagConfigurer(DataVersionService dataVersions,
+                                                      @Value("${data-version.etags.enabled:true}") boolean enabled) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                if (!enabled) {
+                    return;
+                }
+                registry.addInterceptor(new DataVersionEtagInterceptor(dataVersions, DataVersionService.Aggregate.EMPLOYEES))
+                        .addPathPatterns("/api/v1/dashboard/**", "/api/v1/employees")
+                        .excludePathPatterns("/api/v1/dashboard/stream", "/api/v1/dashboard/sales-overview",
+                                "/api/v1/dashboard/complete");
+                registry.addInterceptor(new DataVersionEtagInterceptor(dataVersions, DataVersionService.Aggregate.EMPLOYEES, true))
+                        .addPathPatterns("/api/v1/dashboard/sales-overview", "/api/v1/dashboard/complete");
+                registry.addInterceptor(new DataVersionEtagInterceptor(dataVersions, DataVersionService.Aggregate.LEADS))
+                        .addPathPatterns("/leads/summary");
+                registry.addInterceptor(new DataVersionEtagInterceptor(dataVersions, DataVersionService.Aggregate.PROJECTS))
+                        .addPathPatterns("/projects/summary");
+            }
+        };
+    }
 }
@@ -0,0 +1,26 @@
+package com.sales.sales.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class CallPartitionExecutorConfig {
+
+    // One thread for the partition maintenance, whose archive copy can run for minutes, so it never
+    // holds a scheduler thread. A run already waiting covers any further trigger, which is dropped
+    @Bean(name = "callPartitionExecutor")
+    public Executor callPartitionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("call-partitions-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package com.sales.sales.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class DashboardExecutorConfig {
+
+    // Bounded so a burst of dashboard loads cannot spawn more threads than the connection pool can serve
+    @Bean(name = "dashboardExecutor")
+    public Executor dashboardExecutor(@Value("${dashboard.executor.core-pool-size:6}") int corePoolSize,
+                                      @Value("${dashboard.executor.max-pool-size:12}") int maxPoolSize,
+                                      @Value("${dashboard.executor.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Writes SSE events, so a slow subscriber blocks one of these threads rather than the scheduler
+    @Bean(name = "dashboardStreamExecutor")
+    public Executor dashboardStreamExecutor(@Value("${dashboard.stream.sender-pool-size:4}") int poolSize,
+                                            @Value("${dashboard.stream.sender-queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-stream-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,42 @@
+package com.sales.sales.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets the ETag chosen by DataVersionEtagInterceptor just before the body is written, once the
+ * handler has returned and its status is known: error responses and withheld tags go out untagged.
+ */
+@ControllerAdvice
+public class DataVersionEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            Object etag = httpRequest.getAttribute(DataVersionEtagInterceptor.ETAG_ATTRIBUTE);
+            int status = servletResponse.getServletResponse().getStatus();
+            if (etag != null && status >= 200 && status < 300) {
+                response.getHeaders().setETag((String) etag);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sales.sales.config;
+
+import com.sales.sales.Services.DataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.YearMonth;
+
+/**
+ * Answers conditional GETs for read endpoints from the aggregate's data version. A matching
+ * If-None-Match is answered with 304 before the controller runs, so no query is made and no JSON
+ * is serialised. Otherwise the version read here, before the handler, is left on the request and
+ * DataVersionEtagAdvice sets it as the ETag only once a complete 2xx body is being written; tagging
+ * with the version read first means a write racing the handler can only make the tag older than
+ * the body, never newer. Endpoints whose data also depends on the current month (the rollup
+ * window) carry the month in the tag.
+ */
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = DataVersionEtagInterceptor.class.getName() + ".etag";
+
+    private final DataVersionService dataVersions;
+    private final DataVersionService.Aggregate aggregate;
+    private final boolean monthly;
+
+    public DataVersionEtagInterceptor(DataVersionService dataVersions, DataVersionService.Aggregate aggregate) {
+        this(dataVersions, aggregate, false);
+    }
+
+    public DataVersionEtagInterceptor(DataVersionService dataVersions, DataVersionService.Aggregate aggregate,
+                                      boolean monthly) {
+        this.dataVersions = dataVersions;
+        this.aggregate = aggregate;
+        this.monthly = monthly;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+        String etag = monthly
+                ? dataVersions.etag(aggregate, YearMonth.now().toString())
+                : dataVersions.etag(aggregate);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    /**
+     * Keeps the current response untagged, for handlers that answer 2xx with partial data
+     * (a degraded /complete) that a client must not be allowed to revalidate.
+     */
+    public static void withholdEtag() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ETAG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+}
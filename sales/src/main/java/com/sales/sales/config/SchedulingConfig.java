@@ -0,0 +1,13 @@
+package com.sales.sales.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Switchable so contexts that drive the services directly (the benchmarks) run without the
+// background flushes, ticks and seeds competing for the CPU and the database
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
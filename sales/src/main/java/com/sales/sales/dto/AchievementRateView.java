@@ -0,0 +1,12 @@
+package com.sales.sales.dto;
+
+/**
+ * Projection returned by EmployeeRepository#findTopByAchievementRate for the recent sales card.
+ */
+public interface AchievementRateView {
+    String getEmpName();
+    String getEmpCode();
+    Integer getMonthlyTarget();
+    Integer getAchieved();
+    Double getAchievementRate();
+}
@@ -0,0 +1,19 @@
+package com.sales.sales.dto;
+
+/**
+ * Counters of the batch call ingest pipeline since startup. accepted and rejected count calls;
+ * a rejected call was answered with 429 and never queued. A failed call was accepted but could
+ * not be written and is in the dead-letter file. Flush times cover one batch insert, including
+ * its commit.
+ */
+public record CallIngestMetrics(int queueDepth,
+                                int queueCapacity,
+                                long accepted,
+                                long rejected,
+                                long written,
+                                long failed,
+                                long batches,
+                                long lastFlushMillis,
+                                double averageFlushMillis,
+                                long maxFlushMillis) {
+}
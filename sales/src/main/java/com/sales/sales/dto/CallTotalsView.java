@@ -0,0 +1,10 @@
+package com.sales.sales.dto;
+
+/**
+ * Call count and total duration in seconds over a date range of the daily call rollup.
+ */
+public interface CallTotalsView {
+    Long getCallCount();
+
+    Long getTotalDuration();
+}
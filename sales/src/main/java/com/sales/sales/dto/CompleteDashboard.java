@@ -0,0 +1,15 @@
+package com.sales.sales.dto;
+
+import java.util.List;
+
+/**
+ * Payload of /api/v1/dashboard/complete. Sections listed in degraded failed or timed out and are null.
+ */
+public record CompleteDashboard(DashboardStats stats,
+                                DashboardCounts counts,
+                                List<TopPerformer> topPerformers,
+                                List<RecentSale> recentSales,
+                                EmployeePerformanceSummary performance,
+                                SalesOverview overview,
+                                List<String> degraded) {
+}
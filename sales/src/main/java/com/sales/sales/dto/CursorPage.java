@@ -0,0 +1,10 @@
+package com.sales.sales.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page. nextCursor is the sort key of the last row and is passed back as
+ * {@code afterId} for the following page; it is null on the last page.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,11 @@
+package com.sales.sales.dto;
+
+/**
+ * Payload of /api/v1/dashboard/counts. Products and orders are placeholders until those modules exist.
+ */
+public record DashboardCounts(long totalUsers,
+                              long totalSales,
+                              long totalRevenue,
+                              long totalProducts,
+                              long totalOrders) {
+}
@@ -0,0 +1,11 @@
+package com.sales.sales.dto;
+
+/**
+ * Payload of /api/v1/dashboard/stats. meetTarget is the rounded percentage of employees at or above target.
+ */
+public record DashboardStats(long employeeCount,
+                             long meetTarget,
+                             long salesTarget,
+                             long salesAchieved,
+                             long totalCalls) {
+}
@@ -0,0 +1,12 @@
+package com.sales.sales.dto;
+
+public record DepartmentPerformance(long employeeCount,
+                                    long totalTarget,
+                                    long totalAchieved,
+                                    long achievementRate) {
+
+    public static DepartmentPerformance of(long employeeCount, long totalTarget, long totalAchieved) {
+        long rate = totalTarget > 0 ? Math.round((totalAchieved * 100.0) / totalTarget) : 0;
+        return new DepartmentPerformance(employeeCount, totalTarget, totalAchieved, rate);
+    }
+}
@@ -0,0 +1,21 @@
+package com.sales.sales.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Employee columns included in the BI export. Credentials and the linked user are left out.
+ */
+public record EmployeeExportRow(String empId,
+                                String empName,
+                                String empCode,
+                                String email,
+                                String role,
+                                String department,
+                                String team,
+                                Integer monthlyTarget,
+                                Integer achieved,
+                                Integer monthlyCallTarget,
+                                Integer callsMade,
+                                Integer meetTarget,
+                                LocalDate joinDate) {
+}
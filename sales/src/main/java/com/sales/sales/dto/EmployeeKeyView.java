@@ -0,0 +1,9 @@
+package com.sales.sales.dto;
+
+/**
+ * Unique keys of an existing employee, used by the bulk import duplicate check.
+ */
+public interface EmployeeKeyView {
+    String getEmpId();
+    String getEmail();
+}
@@ -0,0 +1,24 @@
+package com.sales.sales.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Employee columns returned by the paged employee listing. Credentials and the linked user are
+ * left out; version is included so clients can send it back with a PUT or PATCH.
+ */
+public record EmployeeListRow(String empId,
+                              String empName,
+                              String empCode,
+                              String email,
+                              String role,
+                              String department,
+                              String team,
+                              Integer monthlyTarget,
+                              Integer achieved,
+                              Integer monthlyCallTarget,
+                              Integer callsMade,
+                              Integer meetTarget,
+                              LocalDate joinDate,
+                              Double performancePercentage,
+                              Long version) {
+}
@@ -0,0 +1,13 @@
+package com.sales.sales.dto;
+
+import java.util.Map;
+
+/**
+ * Payload of /api/v1/dashboard/employee-performance, keyed by department name; teamWise is
+ * keyed by department and then team.
+ */
+public record EmployeePerformanceSummary(Map<String, DepartmentPerformance> departmentWise,
+                                         Map<String, Map<String, DepartmentPerformance>> teamWise,
+                                         long totalEmployees,
+                                         long averageAchievement) {
+}
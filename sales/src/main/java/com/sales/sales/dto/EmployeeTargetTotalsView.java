@@ -0,0 +1,11 @@
+package com.sales.sales.dto;
+
+/**
+ * Single-row projection of the employee sales and call targets behind the summary endpoints.
+ */
+public interface EmployeeTargetTotalsView {
+    Long getTotalMonthlyTarget();
+    Long getTotalAchieved();
+    Long getTotalCallTarget();
+    Long getTotalMeetTarget();
+}
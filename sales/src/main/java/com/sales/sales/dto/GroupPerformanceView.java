@@ -0,0 +1,16 @@
+package com.sales.sales.dto;
+
+/**
+ * One row per department, or per department and team, of the grouped performance queries.
+ * Team is null for department-level rows.
+ */
+public interface GroupPerformanceView {
+    String getDepartment();
+    String getTeam();
+    Long getEmployeeCount();
+    Long getTotalTarget();
+    Long getTotalAchieved();
+    // Employees with a positive target, i.e. the ones averaged in averageAchievement
+    Long getRatedEmployees();
+    Double getAverageAchievement();
+}
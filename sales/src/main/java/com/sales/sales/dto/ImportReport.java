@@ -0,0 +1,17 @@
+package com.sales.sales.dto;
+
+import java.util.List;
+
+/**
+ * Result of a bulk import with one entry per input row, in input order.
+ */
+public record ImportReport(int total, int imported, int rejected, int failed, List<RowResult> rows) {
+
+    public enum Status {
+        IMPORTED, REJECTED, FAILED
+    }
+
+    // row is the 1-based position in the input, excluding any CSV header
+    public record RowResult(int row, String empId, Status status, String message) {
+    }
+}
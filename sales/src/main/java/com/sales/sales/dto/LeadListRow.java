@@ -0,0 +1,16 @@
+package com.sales.sales.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Lead columns returned by the lead listing.
+ */
+public record LeadListRow(Long leadId,
+                          String empId,
+                          String phone,
+                          String source,
+                          String convertedToDeal,
+                          Float dealValue,
+                          LocalDate createdDate,
+                          Long version) {
+}
@@ -0,0 +1,11 @@
+package com.sales.sales.dto;
+
+/**
+ * One month of the sales rollup summed across employees.
+ */
+public interface MonthlySalesView {
+    String getMonthYear();
+    Double getSalesTarget();
+    Double getSalesAchieved();
+    Long getCallsMade();
+}
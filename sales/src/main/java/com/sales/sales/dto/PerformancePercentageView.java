@@ -0,0 +1,13 @@
+package com.sales.sales.dto;
+
+/**
+ * Ranking row for the top/bottom performer endpoint, read straight off the persisted percentage.
+ */
+public interface PerformancePercentageView {
+    String getEmpId();
+    String getEmpName();
+    String getDepartment();
+    Integer getMonthlyTarget();
+    Integer getMeetTarget();
+    Double getPerformancePercentage();
+}
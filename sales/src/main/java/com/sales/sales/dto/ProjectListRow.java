@@ -0,0 +1,17 @@
+package com.sales.sales.dto;
+
+/**
+ * Project columns returned by the project listing. empId is read from the foreign key, so the
+ * owning employee is never loaded.
+ */
+public record ProjectListRow(Long id,
+                             String employeeName,
+                             String empId,
+                             String projectName,
+                             Long projectId,
+                             String projectType,
+                             String projectStatus,
+                             String companyName,
+                             Long leadId,
+                             String intakeDate) {
+}
@@ -0,0 +1,8 @@
+package com.sales.sales.dto;
+
+public record RecentSale(String employeeName,
+                         String employeeCode,
+                         int salesTarget,
+                         int salesAchieved,
+                         long achievementRate) {
+}
@@ -0,0 +1,11 @@
+package com.sales.sales.dto;
+
+import java.util.List;
+
+/**
+ * Payload of /api/v1/dashboard/sales-overview; data holds sales achieved per label, oldest month first.
+ */
+public record SalesOverview(List<String> labels,
+                            List<Integer> data,
+                            long totalSales) {
+}
@@ -0,0 +1,11 @@
+package com.sales.sales.dto;
+
+/**
+ * One typeahead suggestion. For employees id is the empId and code the employee code; for users
+ * id is the userId and code is null.
+ */
+public record SearchHit(String type, String id, String name, String code, String email) {
+
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String USER = "USER";
+}
@@ -0,0 +1,9 @@
+package com.sales.sales.dto;
+
+public record TopPerformer(String employeeName,
+                           String employeeCode,
+                           double performanceScore,
+                           int achieved,
+                           int target,
+                           long achievementRate) {
+}
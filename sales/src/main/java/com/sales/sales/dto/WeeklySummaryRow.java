@@ -0,0 +1,13 @@
+package com.sales.sales.dto;
+
+/**
+ * One row of the weekly summary table. Missing values are defaulted in the query ("N/A" team, 0 counts).
+ */
+public record WeeklySummaryRow(String empId,
+                               String name,
+                               String team,
+                               Integer monthlyTarget,
+                               Integer achieved,
+                               Integer monthlyCallTarget,
+                               Integer callsMade) {
+}
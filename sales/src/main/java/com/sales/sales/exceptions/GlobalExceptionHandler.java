@@ -2,6 +2,7 @@ package com.sales.sales.exceptions;
 
 import com.sales.sales.validation.CommonUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -28,6 +29,14 @@ public class GlobalExceptionHandler {
         return CommonUtil.createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
+    // Stale version on PUT/PATCH, or a concurrent write between load and commit
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("GlobalExceptionHandler : handleOptimisticLockingFailure() : {}", ex.getMessage());
+        return CommonUtil.createErrorResponse("The record was modified by another request; reload it and retry",
+                HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(ResourceAlreadyExistsException.class)
     public ResponseEntity<Object> handleDuplicate(ResourceAlreadyExistsException ex, WebRequest req) {
         Map<String, Object> body = new HashMap<>();
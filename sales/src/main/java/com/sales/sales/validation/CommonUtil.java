@@ -1,9 +1,15 @@
 package com.sales.sales.validation;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,6 +35,19 @@ public class CommonUtil {
         return new ResponseEntity<>(response, status);
     }
 
+    // Streamed file download; the body is written after the handler returns, under this request's own async timeout.
+    // The handler's WebRequest is the AsyncWebRequest the body will run on, so the timeout applies to this request only.
+    public static ResponseEntity<StreamingResponseBody> createStreamingResponse(StreamingResponseBody body, MediaType mediaType, String fileName,
+                                                                                WebRequest request, Duration timeout) {
+        if (request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeout.toMillis());
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     public static ResponseEntity<?> createErrorResponseMessage(String message, HttpStatus status) {
         Map<String, Object> response = new HashMap<>();
         response.put("status", status.name());
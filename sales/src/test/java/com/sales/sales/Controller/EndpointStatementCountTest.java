@@ -0,0 +1,137 @@
+package com.sales.sales.Controller;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.Role;
+import com.sales.sales.Entity.User;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Repositories.RoleRepository;
+import com.sales.sales.Repositories.UserRepository;
+import com.sales.sales.Services.DashboardSnapshotService;
+import com.sales.sales.Services.SalesService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements each polled read endpoint sends to the database, driven through MockMvc so the
+ * controllers, services and fetch plans are measured together. The counts must not grow with the
+ * number of employees; the dashboard snapshot is loaded before each request, as it is once a
+ * node has served its first dashboard read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoints;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "scheduling.enabled=false",
+        "calls.ingest.consumer-enabled=false",
+        "jwt.secret=endpoint-test-secret-endpoint-test-secret-endpoint",
+        "jwt.expiration=3600000"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementCountTest {
+
+    private static final int EMPLOYEES = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private SalesService salesService;
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshot;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void loadEmployees() {
+        Role admin = roleRepository.save(new Role(null, "ADMIN"));
+        Role sales = roleRepository.save(new Role(null, "SALES"));
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User user = userRepository.save(User.builder()
+                    .fullName("User " + i)
+                    .email("user" + i + "@example.com")
+                    .teamAllocation("Team " + (i % 4))
+                    .role(i % 10 == 0 ? admin : sales)
+                    .build());
+            employees.add(Employee.builder()
+                    .empId(String.format("E%03d", i))
+                    .empName("Employee " + i)
+                    .email("employee" + i + "@example.com")
+                    .department(i % 2 == 0 ? "Sales" : "Support")
+                    .team("Team " + (i % 4))
+                    .monthlyTarget(1000)
+                    .achieved(i * 40)
+                    .callsMade(i * 3)
+                    .monthlyCallTarget(100)
+                    .joinDate(LocalDate.of(2024, 1, 1))
+                    .user(user)
+                    .build());
+        }
+        employeeRepository.saveAll(employees);
+        salesService.seedCurrentMonth();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dashboardSnapshot.getDashboardStats();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/v1/dashboard/stats, 0",
+            "/api/v1/dashboard/counts, 0",
+            "/api/v1/dashboard/top-performers, 0",
+            "/api/v1/dashboard/recent-sales, 1",
+            "/api/v1/dashboard/sales-overview, 1",
+            "/api/v1/dashboard/employee-performance, 2",
+            "/api/v1/dashboard/complete, 1",
+            "/api/v1/employees, 1",
+            "/api/v1/employees?afterId=E010&size=20, 1"
+    })
+    void endpointStatementCount(String path, long statements) throws Exception {
+        mockMvc.perform(get(path)).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).as(path).isEqualTo(statements);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sales.sales.Controller;
+
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.LeadDetail;
+import com.sales.sales.Entity.ResourceAllocation;
+import com.sales.sales.Repositories.CallDetailRepository;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Repositories.LeadDetailRepository;
+import com.sales.sales.Repositories.ResourceAllocationRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A PUT or PATCH carrying a version other than the stored one is answered with 409 on every
+ * resource with a version column, and leaves the row unchanged for the next request.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conflicts;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "scheduling.enabled=false",
+        "calls.ingest.consumer-enabled=false",
+        "jwt.secret=conflict-test-secret-conflict-test-secret-conflict",
+        "jwt.expiration=3600000"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OptimisticLockConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CallDetailRepository callRepository;
+
+    @Autowired
+    private LeadDetailRepository leadRepository;
+
+    @Autowired
+    private ResourceAllocationRepository allocationRepository;
+
+    // Resource path to the body a client would send, with a version the row never had
+    private Map<String, String> staleWrites;
+
+    @BeforeAll
+    void saveOneOfEach() {
+        employeeRepository.save(Employee.builder().empId("E1").empName("Employee 1").email("e1@example.com")
+                .monthlyTarget(1000).achieved(0).callsMade(0).build());
+        CallDetail call = callRepository.save(CallDetail.builder().empId("E1").team("North").callType("Inbound")
+                .disposition("Connected").duration(30).callDate(LocalDate.now()).build());
+        LeadDetail lead = leadRepository.save(LeadDetail.builder().empId("E1").phone("+15550000001")
+                .source("Website").convertedToDeal("No").build());
+        ResourceAllocation allocation = allocationRepository.save(ResourceAllocation.builder().projectId("P1")
+                .itTeam("Platform").startDate(LocalDate.now()).endDate(LocalDate.now().plusMonths(1)).build());
+
+        staleWrites = Map.of(
+                "/api/v1/employees/E1", """
+                        {"empName": "Renamed", "email": "e1@example.com", "version": 7}""",
+                "/api/calls/" + call.getCallId(), """
+                        {"empId": "E1", "team": "South", "callType": "Inbound", "disposition": "Busy", "duration": 60, "version": 7}""",
+                "/leads/" + lead.getLeadId(), """
+                        {"empId": "E1", "phone": "+15550000001", "source": "Referral", "convertedToDeal": "No", "version": 7}""",
+                "/api/v1/allocations/" + allocation.getAllocationId(), """
+                        {"projectId": "P1", "itTeam": "Data", "startDate": "2026-01-01", "endDate": "2026-02-01", "version": 7}""");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"PUT", "PATCH"})
+    void staleVersionIsAConflict(String method) throws Exception {
+        for (Map.Entry<String, String> write : staleWrites.entrySet()) {
+            mockMvc.perform(request(HttpMethod.valueOf(method), write.getKey())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(write.getValue()))
+                    .andExpect(status().isConflict());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Services.CallCodeService;
+import com.sales.sales.Services.CallRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The rollup schema and upserts on a real MySQL: H2 accepts the unique key whatever its size,
+ * MySQL refuses keys over 3072 bytes and Hibernate then leaves the table without one.
+ * Not transactional, like the write paths, so the call_codes rows added in their own
+ * transactions are visible to the statements that join them.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CallDailyRollupMySqlTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "INFO");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "INFO");
+    }
+
+    @Autowired
+    private CallDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private CallDetailRepository callRepository;
+
+    @Autowired
+    private CallCodeRepository codeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CallRollupService rollups;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM call_daily_rollup");
+        jdbcTemplate.update("DELETE FROM call_details");
+        CallCodeService codes = new CallCodeService(codeRepository, jdbcTemplate, transactionManager);
+        rollups = new CallRollupService(rollupRepository, callRepository, jdbcTemplate, codes);
+    }
+
+    @Test
+    void uniqueKeyIsCreated() {
+        List<String> columns = jdbcTemplate.queryForList("""
+                SELECT COLUMN_NAME FROM information_schema.STATISTICS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_daily_rollup'
+                  AND INDEX_NAME = 'uk_call_daily_rollup_key'
+                ORDER BY SEQ_IN_INDEX
+                """, String.class);
+
+        assertThat(columns).containsExactly("call_date", "emp_id", "team", "call_type_code", "disposition_code");
+    }
+
+    @Test
+    void upsertsWithMaximumLengthValuesMergeIntoOneRow() {
+        CallDetail call = CallDetail.builder()
+                .empId("E".repeat(255))
+                .team("T".repeat(255))
+                .callType(" Outbound")
+                .disposition("C".repeat(255))
+                .duration(30)
+                .callDate(LocalDate.of(2026, 1, 5))
+                .build();
+
+        rollups.add(List.of(call, call));
+        rollups.add(List.of(call));
+
+        assertThat(jdbcTemplate.queryForList("SELECT call_type, call_count, total_duration FROM call_daily_rollup"))
+                .containsExactly(Map.of("call_type", "outbound", "call_count", 3L, "total_duration", 90L));
+    }
+
+    @Test
+    void backfilledRowsAreMatchedByLaterUpserts() {
+        CallDetail call = CallDetail.builder().empId("E1").team("North").callType("Inbound").disposition("Busy")
+                .duration(10).callDate(LocalDate.of(2026, 2, 1)).build();
+        callRepository.saveAll(List.of(copy(call), copy(call), copy(call)));
+
+        rollups.backfill();
+        rollups.add(List.of(call));
+
+        assertThat(jdbcTemplate.queryForList("SELECT call_count, total_duration FROM call_daily_rollup"))
+                .containsExactly(Map.of("call_count", 4L, "total_duration", 40L));
+    }
+
+    private static CallDetail copy(CallDetail call) {
+        return CallDetail.builder().empId(call.getEmpId()).team(call.getTeam()).callType(call.getCallType())
+                .disposition(call.getDisposition()).duration(call.getDuration()).callDate(call.getCallDate()).build();
+    }
+}
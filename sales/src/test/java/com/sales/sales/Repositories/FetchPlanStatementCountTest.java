@@ -0,0 +1,127 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.Role;
+import com.sales.sales.Entity.User;
+import com.sales.sales.Services.DashboardSnapshotService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fetch plans of the hot read paths: each must stay a single SQL statement however
+ * many employees exist, instead of one extra user (and role) select per row.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class FetchPlanStatementCountTest {
+
+    private static final int EMPLOYEES = 50;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role admin = new Role(null, "ADMIN");
+        Role sales = new Role(null, "SALES");
+        entityManager.persist(admin);
+        entityManager.persist(sales);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User user = User.builder()
+                    .fullName("User " + i)
+                    .email("user" + i + "@example.com")
+                    .teamAllocation("Team " + (i % 4))
+                    .role(i % 10 == 0 ? admin : sales)
+                    .build();
+            entityManager.persist(user);
+            entityManager.persist(Employee.builder()
+                    .empId(String.format("E%03d", i))
+                    .empName("Employee " + i)
+                    .email("employee" + i + "@example.com")
+                    .department(i % 2 == 0 ? "Sales" : "Support")
+                    .team("Team " + (i % 4))
+                    .monthlyTarget(1000)
+                    .achieved(i * 40)
+                    .callsMade(i * 3)
+                    .monthlyCallTarget(100)
+                    .joinDate(LocalDate.of(2024, 1, 1))
+                    .user(user)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void employeeFindAllIsOneStatement() {
+        List<Employee> employees = employeeRepository.findAll();
+
+        assertThat(employees).hasSize(EMPLOYEES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dashboardSnapshotLoadIsOneStatement() {
+        DashboardSnapshotService snapshot = new DashboardSnapshotService(employeeRepository);
+
+        assertThat(snapshot.getDashboardStats()).isNotNull();
+        assertThat(snapshot.getDashboardCounts()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void employeePageIsOneStatement() {
+        var page = employeeRepository.findBy(PageRequest.of(0, 20, Sort.by("empId")));
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userByEmailLoadsRoleInSameStatement() {
+        User user = userRepository.findByEmail("user10@example.com").orElseThrow();
+
+        assertThat(user.getRole().getRoleName()).isEqualTo("ADMIN");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userListingWithRolesIsOneStatement() {
+        List<String> roles = userRepository.findAll().stream()
+                .map(user -> user.getRole().getRoleName())
+                .toList();
+
+        assertThat(roles).hasSize(EMPLOYEES).contains("ADMIN", "SALES");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
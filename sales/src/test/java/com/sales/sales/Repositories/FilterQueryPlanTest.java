@@ -0,0 +1,154 @@
+package com.sales.sales.Repositories;
+
+import com.sales.sales.Entity.CallDetail;
+import com.sales.sales.Entity.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the specification filters, captures the SQL Hibernate sends and checks that it carries
+ * only the supplied predicates and that the database plans it on the filter indexes.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.sales.sales.Repositories.FilterQueryPlanTest$CapturedSql",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class FilterQueryPlanTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CallDetailRepository callDetailRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 400; i++) {
+            entityManager.persist(Employee.builder()
+                    .empId(String.format("E%04d", i))
+                    .empName("Employee " + i)
+                    .email("employee" + i + "@example.com")
+                    .department("Dept " + (i % 8))
+                    .team("Team " + (i % 5))
+                    .monthlyTarget(1000)
+                    .achieved(i * 10)
+                    .joinDate(START.plusDays(i))
+                    .build());
+        }
+        for (int i = 0; i < 2000; i++) {
+            entityManager.persist(CallDetail.builder()
+                    .empId(String.format("E%04d", i % 400))
+                    .callDate(START.plusDays(i % 365))
+                    .callType("Outbound")
+                    .disposition("Connected")
+                    .duration(60)
+                    .team("Team " + (i % 5))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturedSql.STATEMENTS.clear();
+    }
+
+    @Test
+    void employeeFilterUsesDepartmentTeamIndex() {
+        Slice<Employee> slice = employeeRepository.findBy(
+                EmployeeSpecifications.filter("Dept 3", "Team 3", START, null, null, "E0100"),
+                query -> query.slice(PageRequest.of(0, 10, Sort.by("empId"))));
+
+        assertThat(slice.getContent()).isNotEmpty()
+                .allMatch(e -> e.getDepartment().equals("Dept 3") && e.getTeam().equals("Team 3"));
+        String sql = lastSelect();
+        assertThat(whereClause(sql)).doesNotContain("is null").doesNotContain("achieved");
+        assertThat(explain(sql)).contains("IDX_EMPLOYEE_DEPT_TEAM_JOIN");
+    }
+
+    @Test
+    void achievedFilterUsesAchievedIndex() {
+        List<Employee> employees = employeeRepository.findAll(EmployeeSpecifications.filter(null, null, null, null, 3950, null));
+
+        assertThat(employees).hasSize(5);
+        String sql = lastSelect();
+        assertThat(whereClause(sql)).doesNotContain("is null").doesNotContain("department");
+        assertThat(explain(sql)).contains("IDX_EMPLOYEE_ACHIEVED");
+    }
+
+    @Test
+    void callFilterUsesTeamDateIndex() {
+        List<CallDetail> calls = callDetailRepository.findAll(
+                CallDetailSpecifications.filter("Team 2", START.plusDays(10), START.plusDays(20)));
+
+        assertThat(calls).isNotEmpty().allMatch(c -> c.getTeam().equals("Team 2"));
+        String sql = lastSelect();
+        assertThat(whereClause(sql)).doesNotContain("is null").doesNotContain("like");
+        assertThat(explain(sql)).contains("IDX_CALL_DETAILS_TEAM_DATE");
+    }
+
+    @Test
+    void noFiltersEmitNoWhereClause() {
+        assertThat(callDetailRepository.findAll(CallDetailSpecifications.filter(null, null, null))).hasSize(2000);
+        assertThat(lastSelect().toLowerCase()).doesNotContain("where");
+    }
+
+    private static String lastSelect() {
+        return CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private static String whereClause(String sql) {
+        String lower = sql.toLowerCase();
+        int where = lower.indexOf(" where ");
+        return where < 0 ? "" : lower.substring(where);
+    }
+
+    // H2 plans a statement with unbound parameters, so the captured SQL can be explained as is
+    private String explain(String sql) {
+        return new JdbcTemplate(dataSource).query("EXPLAIN " + sql, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+
+    public static class CapturedSql implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
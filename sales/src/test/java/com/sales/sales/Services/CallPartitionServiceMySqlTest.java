@@ -0,0 +1,126 @@
+package com.sales.sales.Services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The partition DDL on a real MySQL: the one-time conversion, REORGANIZE PARTITION pmax when
+ * months-ahead grows, and the archive-then-DROP PARTITION of months leaving the retention window.
+ * The steps build on each other's table, so they run as one test; DDL commits implicitly, so the
+ * test is not transactional.
+ */
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CallPartitionServiceMySqlTest {
+
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "INFO");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "INFO");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void partitionsExtendsAndArchivesByMonth() {
+        YearMonth now = YearMonth.now();
+        insertCall(now.minusMonths(30).atDay(10));
+        insertCall(now.minusMonths(13).atDay(5));
+        insertCall(now.atDay(1));
+        insertCall(null);
+
+        // Conversion: pold below the 24-month window, one partition per month up to one ahead, then pmax
+        new CallPartitionService(jdbcTemplate, Runnable::run, true, 24, 1).partitionIfNeeded();
+
+        List<String> partitions = partitions();
+        assertThat(partitions.get(0)).isEqualTo("pold");
+        assertThat(partitions.get(1)).isEqualTo(month(now.minusMonths(24)));
+        assertThat(partitions.get(partitions.size() - 2)).isEqualTo(month(now.plusMonths(1)));
+        assertThat(partitions.get(partitions.size() - 1)).isEqualTo("pmax");
+        assertThat(count("call_details WHERE call_date IS NULL")).isZero();
+        assertThat(count("call_details PARTITION (pold)")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_details' AND CONSTRAINT_NAME = 'PRIMARY'
+                ORDER BY ORDINAL_POSITION
+                """, String.class)).containsExactly("call_id", "call_date");
+
+        // Three months ahead: REORGANIZE PARTITION pmax; pold now lies wholly before the window and is archived
+        new CallPartitionService(jdbcTemplate, Runnable::run, true, 24, 3).maintain();
+
+        partitions = partitions();
+        assertThat(partitions).doesNotContain("pold");
+        assertThat(partitions.get(partitions.size() - 2)).isEqualTo(month(now.plusMonths(3)));
+        assertThat(partitions.get(partitions.size() - 1)).isEqualTo("pmax");
+        assertThat(count("call_details_archive")).isEqualTo(1);
+        assertThat(count("call_details")).isEqualTo(3);
+
+        // A 12-month window archives and drops the months before it, the 13-month-old call with them
+        new CallPartitionService(jdbcTemplate, Runnable::run, true, 12, 3).maintain();
+
+        partitions = partitions();
+        assertThat(partitions.get(0)).isEqualTo(month(now.minusMonths(12)));
+        assertThat(count("call_details_archive")).isEqualTo(2);
+        assertThat(count("call_details")).isEqualTo(2);
+
+        // Repeating the maintenance is a no-op
+        new CallPartitionService(jdbcTemplate, Runnable::run, true, 12, 3).maintain();
+        assertThat(partitions()).isEqualTo(partitions);
+        assertThat(count("call_details_archive")).isEqualTo(2);
+    }
+
+    private void insertCall(LocalDate callDate) {
+        jdbcTemplate.update("""
+                INSERT INTO call_details (emp_id, call_date, call_type, disposition, duration, team, version)
+                VALUES ('E1', ?, 'outbound', 'connected', 10, 'North', 0)
+                """, callDate);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'call_details'
+                ORDER BY PARTITION_ORDINAL_POSITION
+                """, String.class);
+    }
+
+    private int count(String from) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + from, Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private static String month(YearMonth month) {
+        return month.format(MONTH_NAME);
+    }
+}
@@ -0,0 +1,151 @@
+package com.sales.sales.Services;
+
+import com.sales.sales.Entity.Employee;
+import com.sales.sales.Entity.User;
+import com.sales.sales.Repositories.EmployeeRepository;
+import com.sales.sales.Repositories.UserRepository;
+import com.sales.sales.dto.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query semantics of the trigram index: short query words match word prefixes, longer ones match
+ * anywhere in a word, name prefix matches come first, and the index follows the write paths.
+ */
+class NameSearchServiceTest {
+
+    private EmployeeRepository employeeRepository;
+    private UserRepository userRepository;
+    private NameSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        userRepository = mock(UserRepository.class);
+        service = new NameSearchService(employeeRepository, userRepository);
+        when(employeeRepository.findSearchHits()).thenReturn(List.of(
+                employee("E1", "John Smith", "EMP001", "john.smith@acme.com"),
+                employee("E2", "Johanna Berg", "EMP002", "jberg@acme.com"),
+                employee("E3", "Mary Johnson", "EMP003", "mary@acme.com")));
+        when(userRepository.findSearchHits()).thenReturn(List.of(
+                new SearchHit(SearchHit.USER, "1", "Joe Admin", null, "joe@acme.com")));
+    }
+
+    @Test
+    void oneCharacterQueryMatchesWordPrefixesWithNamePrefixesFirst() {
+        assertThat(ids(service.search("j", 10))).containsExactly("1", "E2", "E1", "E3");
+        assertThat(ids(service.search("m", 10))).containsExactly("E3");
+    }
+
+    @Test
+    void twoCharacterQueryMatchesWordPrefixesOnly() {
+        assertThat(ids(service.search("jo", 10))).containsExactly("1", "E2", "E1", "E3");
+        assertThat(service.search("mi", 10)).isEmpty();
+    }
+
+    @Test
+    void longerQueryMatchesAnywhereInAWord() {
+        assertThat(ids(service.search("ohn", 10))).containsExactly("E1", "E3");
+        assertThat(ids(service.search("emp00", 10))).containsExactly("E1", "E2", "E3");
+        // User emails are not indexed, only employee codes and emails
+        assertThat(ids(service.search("acme", 10))).containsExactly("E1", "E2", "E3");
+    }
+
+    @Test
+    void multiWordQueryNeedsEveryWordInAnyOrder() {
+        assertThat(ids(service.search("John Smith", 10))).containsExactly("E1");
+        assertThat(ids(service.search("smith j", 10))).containsExactly("E1");
+        assertThat(ids(service.search("mary ber", 10))).isEmpty();
+    }
+
+    @Test
+    void blankQueryAndLimit() {
+        assertThat(service.search("  ", 10)).isEmpty();
+        assertThat(service.search("j", 2)).hasSize(2);
+    }
+
+    @Test
+    void updateReplacesTheIndexedText() {
+        assertThat(ids(service.search("john", 10))).containsExactly("E1", "E3");
+
+        service.onEmployeeSaved(Employee.builder().empId("E1").empName("Jonathan Smythe")
+                .empCode("EMP001").email("jsmythe@acme.com").build());
+        service.onUserSaved(User.builder().userId(2).fullName("Smita Rao").email("smita@acme.com").build());
+
+        assertThat(ids(service.search("john", 10))).containsExactly("E3");
+        assertThat(service.search("smythe", 10)).containsExactly(
+                employee("E1", "Jonathan Smythe", "EMP001", "jsmythe@acme.com"));
+        assertThat(ids(service.search("smi", 10))).containsExactly("2");
+    }
+
+    @Test
+    void deleteRemovesTheEntry() {
+        assertThat(ids(service.search("jo", 10))).containsExactly("1", "E2", "E1", "E3");
+
+        service.onEmployeeDeleted("E1");
+        service.onUserDeleted(1);
+
+        assertThat(ids(service.search("jo", 10))).containsExactly("E2", "E3");
+        assertThat(service.search("smith", 10)).isEmpty();
+        assertThat(service.search("admin", 10)).isEmpty();
+    }
+
+    @Test
+    void writesBeforeTheFirstSearchAreLeftToTheLoad() {
+        service.onEmployeeSaved(Employee.builder().empId("E1").empName("John Smith")
+                .empCode("EMP001").email("john.smith@acme.com").build());
+        service.onEmployeeSaved(Employee.builder().empId("E9").empName("Zed Unsaved").build());
+
+        assertThat(ids(service.search("john smith", 10))).containsExactly("E1");
+        assertThat(service.search("zed", 10)).isEmpty();
+        service.search("mary", 10);
+        verify(employeeRepository, times(1)).findSearchHits();
+        verify(userRepository, times(1)).findSearchHits();
+    }
+
+    @Test
+    void compactionKeepsTheLiveEntriesSearchable() {
+        List<SearchHit> agents = IntStream.range(0, 1500)
+                .mapToObj(i -> employee("A" + i, String.format("Agent %04d", i), "AG" + i, null))
+                .toList();
+        when(employeeRepository.findSearchHits()).thenReturn(agents);
+        when(userRepository.findSearchHits()).thenReturn(List.of());
+        assertThat(service.search("agent", 50)).hasSize(50);
+
+        for (int i = 0; i < 1200; i++) {
+            service.onEmployeeDeleted("A" + i);
+        }
+
+        // Compacted at the 1001st delete down to 499 entries, the last 199 deletes left as gaps
+        assertThat((List<?>) ReflectionTestUtils.getField(service, "entries")).hasSize(499);
+        assertThat(service.search("agent 0005", 10)).isEmpty();
+        assertThat(ids(service.search("agent 1450", 10))).containsExactly("A1450");
+        assertThat(ids(service.search("ag1499", 10))).containsExactly("A1499");
+        List<String> remaining = ids(service.search("agent", 50));
+        assertThat(remaining).hasSize(50).first().isEqualTo("A1200");
+
+        service.onEmployeeSaved(Employee.builder().empId("A7").empName("Agent 0007").empCode("AG7").build());
+        assertThat(ids(service.search("agent 0007", 10))).containsExactly("A7");
+    }
+
+    private static SearchHit employee(String id, String name, String code, String email) {
+        return new SearchHit(SearchHit.EMPLOYEE, id, name, code, email);
+    }
+
+    private static List<String> ids(List<SearchHit> hits) {
+        List<String> ids = new ArrayList<>();
+        hits.forEach(hit -> ids.add(hit.id()));
+        return ids;
+    }
+}